@@ -0,0 +1,1205 @@
+/*
+ * Copyright 2021 Zen Liu. All Rights Reserved.
+ * Licensed under the  GNU LESSER GENERAL PUBLIC LICENSE, Version 2.1 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.zenliu.java.mimic;
+
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jooq.Record;
+import org.jooq.*;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.annotation.*;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * <p> Mimic is a protocol defined to use Interface as Pojo.
+ * <p> <b>Note:</b> this implement by JDK dynamic proxy, and will decrement performance for about 10 times, may never use for performance award condition.
+ * It's best use for slow business logic implement that coding time is more expensive than performance requirement.
+ * <p> <h3>Introduce</h3></p>
+ * <p> <b>Property</b>: defined by interface Getter&Setter methods.
+ * <p> <b>Getter&Setter Strategy:</b>
+ * <p> <b>Common Strategy</b>:
+ * <p> <b>1. getter</b> must be PUBLIC, NONE DEFAULT, NO PARAMETER and Returns NONE VOID type.
+ * <p> <b>2. setter</b> must be PUBLIC, NONE DEFAULT, HAVE ONLY ONE PARAMETER and Returns VOID type Or SELF.
+ * <p> <b>Fluent Strategy</b> (The default strategy): getter's name and setter's name are the property name;
+ * <p> <b>Java Bean Strategy</b>: getter's name is prefixed with 'get' or 'is', setter's name is prefixed with 'set';
+ * this would be enabled by annotate with {@link JavaBean} and set {@link JavaBean#value()} as false
+ * <p> <b>Mix Strategy</b>: both Java Bean Strategy and Fluent Strategy are allowed;
+ * this would be enabled by annotate with {@link JavaBean} and set {@link JavaBean#value()} as true
+ * <p> <b>default methods</b>
+ * <p> <b>underlyingMap</b>: fetch this underlying storage, which is mutable, but should careful to change its values,
+ * cause of this will ignore any annotated validation or convection methods on interface.
+ * <p><b>underlyingChangedProperties</b>: recoding the set action took on  properties. only effect by using {@link Dao},
+ * under other conditions it always returns null.
+ * <p><b>Misc</b></p>
+ * <p><b>Inherit</b>: Mimic can inherit from other Mimic </p>
+ * <p><b>Conversion</b>: Mimic can annotate with {@link Dao.AsString} on getter or setter to enable single property conversion.
+ * <p> for Collections(LIST,SET and ARRAY), there is {@link Many} to support nested Mimicked properties. but current {@link Map} is not been supported.
+ * <p><b>Validation</b>: Mimic can annotate with {@link Validation} on getter or setter to enable single property validation.
+ * <p> Mimic also use overrideable method {@link Mimic#validate()} to active a Pojo validation.</p>
+ * <p><b>Extension</b>: {@link Dao} is extension for use {@link Mimic} as easy Jooq repository.</p>
+ *
+ * @author Zen.Liu
+ * @apiNote
+ * @since 2021-10-16
+ */
+@SuppressWarnings({"DuplicatedCode", "unused"})
+public interface Mimic {
+    Logger log = LoggerFactory.getLogger(Mimic.class);
+
+    //region Definitions
+
+    /**
+     * method to fetch internal Map,
+     * <p>in {@link ByteASM} mode, this is a fixed keys view backed by generated fields, absent of null values,
+     * put on the view goes through the property setter.
+     * <p><b>Note:</b>Never TO OVERRIDDEN
+     */
+    @NotNull
+    Map<String, Object> underlyingMap();
+
+    /**
+     * this method always effect .
+     * <p><b>Note:</b>Never TO OVERRIDDEN
+     */
+    @NotNull
+    Set<String> underlyingChangedProperties();
+
+    /**
+     * method to call validate, can be overridden.
+     *
+     * @throws IllegalStateException if anything not match requirement
+     */
+    default void validate() throws IllegalStateException {
+
+    }
+
+    /**
+     * validate only properties in {@link #underlyingChangedProperties()}, by their {@link Validation}s and nested Mimic.
+     * <p>overridden {@link #validate()} is not called.
+     *
+     * @throws IllegalStateException if any changed property is invalid
+     */
+    @ApiStatus.AvailableSince("1.2.0")
+    default void validateChanged() throws IllegalStateException {
+        mimics.validateChanged(this);
+    }
+    //endregion
+
+    interface Validate {
+        BiConsumer<String, Object> noop = (p, x) -> {
+        };
+        BiConsumer<String, Object> notNull = (p, x) -> {
+            if (x == null) throw new IllegalStateException(p + " should not be null");
+        };
+    }
+
+
+    /**
+     * use Byte ASM Mode for Mimic
+     */
+    interface ByteASM {
+
+        static void enable() {
+            mimics.factory.set(mimics.AsmFactory.cache::get);
+        }
+    }
+
+    /**
+     * use JDK Dynamic Proxy Mode for Mimic
+     */
+    interface DynamicProxy {
+        static void enable() {
+            mimics.factory.set(mimics.ProxyFactory.cache::get);
+        }
+    }
+
+    /**
+     * use implements generated at compile time for Mimic, which are generated for types annotated with {@link Precompile}
+     * by the annotation processor from artifact {@code mimic-processor}.
+     * <p>types without a precompiled implement, or with one outdated with the type, will fall back to {@link ByteASM} mode
+     * if ByteBuddy is present, else to {@link DynamicProxy} mode.
+     */
+    @ApiStatus.AvailableSince("1.2.0")
+    interface Precompiled {
+        static void enable() {
+            mimics.factory.set(mimics.PrecompiledFactory.cache::get);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends Mimic> T newInstance(Class<T> type, Map<String, Object> data) {
+        return (T) mimics.instance(type, data);
+    }
+
+    /**
+     * metrics of implements generation for {@link ByteASM} mode of both Mimic and Dao.
+     */
+    @ApiStatus.AvailableSince("1.2.0")
+    interface Metrics {
+        /**
+         * @return count of implements generated or defined from class cache
+         */
+        static long generated() {
+            return classes.Stats.generated.sum();
+        }
+
+        /**
+         * @return count of implements generated again, after the factory evicted from cache
+         */
+        static long regenerated() {
+            return classes.Stats.regenerated.sum();
+        }
+    }
+
+    /**
+     * typed factory of a Mimic, which is resolved once and can be kept for reuse.
+     * <p>the factory is bound to the mode ({@link ByteASM}, {@link DynamicProxy} or {@link Precompiled}) enabled when it's created.
+     *
+     * @param <T> Mimic type
+     */
+    @ApiStatus.AvailableSince("1.2.0")
+    interface MimicFactory<T extends Mimic> {
+        /**
+         * @return the Mimic type
+         */
+        @NotNull Class<T> type();
+
+        /**
+         * @param data initial values, nullable
+         * @return new instance
+         */
+        @NotNull T create(Map<String, Object> data);
+
+        /**
+         * @return new empty instance
+         */
+        default @NotNull T create() {
+            return create(null);
+        }
+
+        /**
+         * @param data values of each instance, a null element creates an empty instance
+         * @return instances in order of data
+         */
+        @NotNull List<T> createAll(Iterable<? extends Map<String, Object>> data);
+
+        /**
+         * rebind an instance to new data, it's the same as a new instance from {@link #create(Map)} with the data.
+         * <p>changed properties are cleared and converted values cached are dropped, no new instance is allocated.
+         * <p>the instance must not be used by others while reset.
+         *
+         * @param instance instance created by a factory of current mode
+         * @param data     new values, nullable
+         * @return the instance
+         * @throws IllegalStateException if the instance is {@link Immutable} or a row of {@link MimicTable}
+         */
+        @NotNull T reset(@NotNull T instance, Map<String, Object> data);
+
+        /**
+         * shallow copy of an instance, nested Mimic and collections are shared.
+         * <p>values are copied from the instance directly and not validated again, changed properties of the copy are empty.
+         *
+         * @param source instance of the type or its sub type
+         * @return new instance, or the source itself if it's {@link Immutable}
+         */
+        @NotNull T copy(@NotNull T source);
+
+        /**
+         * set values of another instance into an instance, properties not exist in target are ignored.
+         * <p>validation is skipped if the source is of the same implement as the target; else all values are validated before any is set,
+         * and null values of the source are skipped unless they are changed ones with onlyChanged.
+         *
+         * @param target      instance to change
+         * @param source      instance to read
+         * @param onlyChanged only the {@link Mimic#underlyingChangedProperties()} of source
+         * @return the target
+         * @throws IllegalStateException if the target is {@link Immutable} or a row of {@link MimicTable}, or a value is invalid
+         */
+        @NotNull T merge(@NotNull T target, @NotNull Mimic source, boolean onlyChanged);
+
+        /**
+         * compare two instances property by property in slot order.
+         *
+         * @param from old instance
+         * @param to   new instance
+         * @return changes turns from into to
+         */
+        @NotNull Patch<T> diff(@NotNull T from, @NotNull T to);
+
+        /**
+         * @param capacity max count of idle instances kept
+         * @return a new pool of the type
+         */
+        default @NotNull Pool<T> pool(int capacity) {
+            return new mimics.Pool<>(this, capacity);
+        }
+
+        /**
+         * @return property names, ordered by name
+         */
+        @NotNull List<String> properties();
+
+        /**
+         * @return property types, ordered by name
+         */
+        @NotNull Map<String, Class<?>> types();
+    }
+
+    /**
+     * pool of idle instances for short-lived Mimic, such as mapping rows in a loop.
+     * <p>acquired instances are rebound by {@link MimicFactory#reset(Mimic, Map)}, released instances must not be used anymore.
+     * <p>a pool is not thread safe, use one pool for each thread or loop.
+     *
+     * @param <T> Mimic type
+     */
+    @ApiStatus.AvailableSince("1.2.0")
+    interface Pool<T extends Mimic> {
+        /**
+         * @return the Mimic type
+         */
+        @NotNull Class<T> type();
+
+        /**
+         * @param data initial values, nullable
+         * @return an idle instance rebound to data, or a new instance if no one is idle
+         */
+        @NotNull T acquire(Map<String, Object> data);
+
+        /**
+         * @param instance instance no longer used
+         * @return false if the pool is full or the instance could not be reset
+         */
+        boolean release(T instance);
+
+        /**
+         * @return count of idle instances
+         */
+        int idle();
+    }
+
+    /**
+     * changed properties between two instances from {@link MimicFactory#diff(Mimic, Mimic)},
+     * kept as a bitmask of slots and the new values in getter form.
+     * <p>a patch is immutable, values are shared with the new instance.
+     *
+     * @param <T> Mimic type
+     */
+    @ApiStatus.AvailableSince("1.2.0")
+    interface Patch<T extends Mimic> {
+        /**
+         * @return the Mimic type
+         */
+        @NotNull Class<T> type();
+
+        /**
+         * @return no property changed
+         */
+        boolean isEmpty();
+
+        /**
+         * @return count of changed properties
+         */
+        int size();
+
+        /**
+         * @return changed properties, ordered by name
+         */
+        @NotNull List<String> properties();
+
+        /**
+         * @param property property name
+         * @return the property is changed
+         */
+        boolean contains(@NotNull String property);
+
+        /**
+         * @param property property name
+         * @return new value, null if not changed or changed to null
+         */
+        Object value(@NotNull String property);
+
+        /**
+         * set new values into an instance, the changed properties of the instance are marked,
+         * so {@link Dao#updateWith(Mimic, Condition)} only updates them.
+         * <p>values are validated before any is set, unless the target is of the same implement as the instances compared.
+         *
+         * @param target instance of the type or its sub type
+         * @return the target
+         * @throws IllegalStateException if the target is {@link Immutable} or a row of {@link MimicTable}, or a value is invalid
+         * @throws IllegalArgumentException if the target lacks a changed property
+         */
+        @NotNull T applyTo(@NotNull T target);
+    }
+
+    /**
+     * resolve the typed factory of a Mimic with current mode.
+     *
+     * @param type Mimic type
+     * @return factory handle
+     */
+    @ApiStatus.AvailableSince("1.2.0")
+    static <T extends Mimic> MimicFactory<T> factory(Class<T> type) {
+        return new mimics.TypedFactory<>(type, mimics.factoryOf(type));
+    }
+
+    /**
+     * warm up Mimic and Dao types in parallel, generates the implements of current modes.
+     * <p>a Dao also warms up its entity. types fail to warm up are logged and absent from result.
+     *
+     * @param pool  pool to run with
+     * @param types Mimic or Dao types
+     * @return elapsed time of each type
+     */
+    @ApiStatus.AvailableSince("1.2.0")
+    static Map<Class<?>, Duration> warmUp(@NotNull ForkJoinPool pool, @NotNull Collection<? extends Class<?>> types) {
+        return mimics.warmUp(pool, types);
+    }
+
+    /**
+     * warm up Mimic and Dao types in parallel with common pool.
+     *
+     * @see #warmUp(ForkJoinPool, Collection)
+     */
+    @ApiStatus.AvailableSince("1.2.0")
+    static Map<Class<?>, Duration> warmUp(@NotNull Collection<? extends Class<?>> types) {
+        return mimics.warmUp(ForkJoinPool.commonPool(), types);
+    }
+
+    /**
+     * warm up all Mimic and Dao interfaces in packages (include sub packages) in parallel with common pool.
+     *
+     * @see #warmUp(ForkJoinPool, Collection)
+     */
+    @ApiStatus.AvailableSince("1.2.0")
+    static Map<Class<?>, Duration> warmUp(@NotNull String... packages) {
+        var loader = Thread.currentThread().getContextClassLoader();
+        return warmUp(Util.scanTypes(loader != null ? loader : Mimic.class.getClassLoader(), packages));
+    }
+
+    /**
+     * create instances in batch, the factory of type is resolved only once.
+     *
+     * @param type Mimic type
+     * @param data values of each instance, a null element creates an empty instance
+     * @return instances in order of data
+     */
+    @ApiStatus.AvailableSince("1.2.0")
+    @SuppressWarnings("unchecked")
+    static <T extends Mimic> List<T> newInstances(Class<T> type, Iterable<? extends Map<String, Object>> data) {
+        return (List<T>) (List<?>) mimics.factoryOf(type).buildAll(data);
+    }
+
+    /**
+     * collector of Mimic instances, the factory of type is resolved when the collector created.
+     *
+     * @param type Mimic type
+     * @return collector of values to instances
+     */
+    @ApiStatus.AvailableSince("1.2.0")
+    @SuppressWarnings("unchecked")
+    static <T extends Mimic> Collector<Map<String, Object>, ?, List<T>> collector(Class<T> type) {
+        final var factory = mimics.factoryOf(type);
+        return Collector.<Map<String, Object>, List<T>>of(
+            ArrayList::new,
+            (l, m) -> l.add((T) factory.build(m)),
+            (a, b) -> {
+                a.addAll(b);
+                return a;
+            });
+    }
+
+    /**
+     * columnar container of a Mimic type, each property is stored in a primitive or reference column array.
+     * <p>rows are read and written by flyweight views implement the Mimic type, a view is bound to the table and a row,
+     * {@link Mimic#underlyingMap()} of a view is a copy of the row.
+     * <p>columns could be scanned or filtered without creating any view.
+     * <p>views of a ByteBuddy generated class are used if ByteBuddy is present, else JDK dynamic proxy.
+     * <p>a table is not thread safe, and should not be modified while a stream of it is consumed.
+     *
+     * @param <T> Mimic type, {@link Immutable} is not supported
+     */
+    @ApiStatus.AvailableSince("1.2.0")
+    interface MimicTable<T extends Mimic> {
+        /**
+         * @return the Mimic type
+         */
+        @NotNull Class<T> type();
+
+        /**
+         * @return count of rows
+         */
+        int size();
+
+        /**
+         * append a row, values are validated the same as setters.
+         *
+         * @param data values of the row, nullable
+         * @return index of the row
+         * @throws IllegalStateException if a value is invalid, the row is not appended
+         */
+        int add(Map<String, Object> data);
+
+        /**
+         * append a row copied from an instance.
+         *
+         * @param value the instance
+         * @return index of the row
+         */
+        int add(@NotNull T value);
+
+        /**
+         * @param row index of row
+         * @return a view of the row
+         */
+        @NotNull T get(int row);
+
+        /**
+         * @return a cursor before the first row
+         */
+        @NotNull Cursor<T> cursor();
+
+        /**
+         * visit each row with one reusable view, the view should not be kept out of the action.
+         */
+        void forEach(@NotNull Consumer<? super T> action);
+
+        /**
+         * @param property property of byte, short, char, int or long
+         * @return values of column
+         */
+        @NotNull LongStream longs(@NotNull String property);
+
+        /**
+         * @param property property of numeric primitive type
+         * @return values of column
+         */
+        @NotNull DoubleStream doubles(@NotNull String property);
+
+        /**
+         * @param property any property
+         * @return values of column in getter form
+         */
+        @NotNull Stream<Object> values(@NotNull String property);
+
+        /**
+         * @param property  property of byte, short, char, int or long
+         * @param predicate test of value
+         * @return index of matched rows
+         */
+        @NotNull IntStream filterLong(@NotNull String property, @NotNull LongPredicate predicate);
+
+        /**
+         * @param property  property of numeric primitive type
+         * @param predicate test of value
+         * @return index of matched rows
+         */
+        @NotNull IntStream filterDouble(@NotNull String property, @NotNull DoublePredicate predicate);
+
+        /**
+         * @param property  any property
+         * @param predicate test of value in getter form
+         * @return index of matched rows
+         */
+        @NotNull IntStream filter(@NotNull String property, @NotNull Predicate<Object> predicate);
+
+        /**
+         * remove all rows, views created before should not be used.
+         */
+        void clear();
+
+        /**
+         * a reusable view moves over rows.
+         */
+        interface Cursor<T extends Mimic> {
+            /**
+             * @return the view of current row
+             */
+            @NotNull T get();
+
+            /**
+             * @return index of current row, -1 before the first
+             */
+            int row();
+
+            /**
+             * @return false if there is no more rows
+             */
+            boolean next();
+
+            /**
+             * @param row index of row
+             * @return this
+             */
+            @NotNull Cursor<T> moveTo(int row);
+        }
+
+        /**
+         * @param type Mimic type
+         * @return empty table
+         */
+        static <T extends Mimic> MimicTable<T> of(@NotNull Class<T> type) {
+            return of(type, 16);
+        }
+
+        /**
+         * @param type     Mimic type
+         * @param capacity initial capacity of rows
+         * @return empty table
+         */
+        static <T extends Mimic> MimicTable<T> of(@NotNull Class<T> type, int capacity) {
+            return new tables.Table<>(type, capacity);
+        }
+    }
+
+    /**
+     * compact binary codec of a Mimic type, the layout is derived from the properties:
+     * <p>a fingerprint of the properties, a bitmap of present values, then the present values in order of property name.
+     * <p>primitives and wrappers are written in fixed width, {@link String}, {@link BigDecimal}, {@link java.math.BigInteger},
+     * {@link Instant}, {@link java.util.UUID}, {@code byte[]} and enums are supported, nested Mimic and {@link Many} are written inline.
+     * <p>values are read from and written to the implement of current mode directly, no map is involved for {@link ByteASM} mode.
+     *
+     * @param <T> Mimic type
+     */
+    @ApiStatus.AvailableSince("1.2.0")
+    interface Codec<T extends Mimic> {
+        /**
+         * @return the Mimic type
+         */
+        @NotNull Class<T> type();
+
+        /**
+         * @param value instance
+         * @param out   output
+         * @throws IOException if fail to write
+         */
+        void write(@NotNull T value, @NotNull DataOutput out) throws IOException;
+
+        /**
+         * @param in input
+         * @return new instance
+         * @throws IOException           if fail to read
+         * @throws IllegalStateException if fingerprint not match, which means the data is written by another version of the type
+         */
+        @NotNull T read(@NotNull DataInput in) throws IOException;
+
+        /**
+         * @param value instance
+         * @return bytes
+         */
+        byte[] encode(@NotNull T value);
+
+        /**
+         * @param bytes bytes written by {@link #encode(Mimic)} or {@link #write(Mimic, DataOutput)}
+         * @return new instance
+         */
+        @NotNull T decode(byte[] bytes);
+
+        /**
+         * @param type Mimic type
+         * @return codec of the type
+         * @throws IllegalStateException if any property is not supported
+         */
+        static <T extends Mimic> Codec<T> of(@NotNull Class<T> type) {
+            return new codecs.MimicCodec<>(type);
+        }
+    }
+
+    /**
+     * JSON writer of a Mimic type, properties are emitted from the instance directly without a copy of map.
+     * <p>the output is the same as JSON of {@link Mimic#underlyingMap()}: values are in storage form and null values are absent,
+     * nested Mimic are objects and {@link Many} are arrays.
+     * <p>a writer is immutable and thread safe, names of properties are escaped once when the writer created.
+     *
+     * @param <T> Mimic type
+     */
+    @ApiStatus.AvailableSince("1.2.0")
+    interface JsonWriter<T extends Mimic> {
+        /**
+         * @return the Mimic type
+         */
+        @NotNull Class<T> type();
+
+        /**
+         * @param properties properties to keep
+         * @return a writer only emits the properties which also emitted by this one
+         * @throws IllegalArgumentException if any property not exists
+         */
+        @NotNull JsonWriter<T> including(@NotNull String... properties);
+
+        /**
+         * @param properties properties to skip
+         * @return a writer skips the properties and those skipped by this one
+         * @throws IllegalArgumentException if any property not exists
+         */
+        @NotNull JsonWriter<T> excluding(@NotNull String... properties);
+
+        /**
+         * @param value instance
+         * @param out   output, such as a reused {@link StringBuilder}
+         * @throws IOException if fail to append
+         */
+        void write(@NotNull T value, @NotNull Appendable out) throws IOException;
+
+        /**
+         * write as a JSON array, null elements are written as null.
+         *
+         * @param values instances
+         * @param out    output
+         * @throws IOException if fail to append
+         */
+        void writeAll(@NotNull Iterable<? extends T> values, @NotNull Appendable out) throws IOException;
+
+        /**
+         * @param value instance
+         * @return JSON object
+         */
+        @NotNull String toJson(@NotNull T value);
+
+        /**
+         * @param values instances
+         * @return JSON array
+         */
+        @NotNull String toJsonArray(@NotNull Iterable<? extends T> values);
+
+        /**
+         * @param type Mimic type
+         * @return writer emits all properties
+         */
+        static <T extends Mimic> JsonWriter<T> of(@NotNull Class<T> type) {
+            return jsons.writer(type);
+        }
+    }
+
+    /**
+     * JSON reader of a Mimic type, parsed values are put into a new instance directly without an intermediate map.
+     * <p>values are converted to declared type of properties as parsed, the {@link Validation} of a property is
+     * checked once its value parsed, unknown properties are skipped.
+     * <p>values in storage form are accepted, so output of {@link JsonWriter} could be read back.
+     * <p>a reader is immutable and thread safe.
+     *
+     * @param <T> Mimic type
+     */
+    @ApiStatus.AvailableSince("1.2.0")
+    interface JsonReader<T extends Mimic> {
+        /**
+         * @return the Mimic type
+         */
+        @NotNull Class<T> type();
+
+        /**
+         * @param json JSON object
+         * @return new instance
+         * @throws IllegalArgumentException if not a valid JSON object or some value not match its property
+         * @throws IllegalStateException    if fail to validate
+         */
+        @NotNull T read(@NotNull CharSequence json);
+
+        /**
+         * @param json JSON array, null elements are read as null
+         * @return new instances
+         * @throws IllegalArgumentException if not a valid JSON array or some value not match its property
+         * @throws IllegalStateException    if fail to validate
+         */
+        @NotNull List<T> readAll(@NotNull CharSequence json);
+
+        /**
+         * @param in input of a JSON object
+         * @return new instance
+         * @throws IOException if fail to read
+         */
+        @NotNull T read(@NotNull java.io.Reader in) throws IOException;
+
+        /**
+         * @param type Mimic type
+         * @return reader of the type
+         */
+        static <T extends Mimic> JsonReader<T> of(@NotNull Class<T> type) {
+            return jsons.reader(type);
+        }
+    }
+
+    /**
+     * <p> Dao is a Jooq repository interface for {@link Mimic}.
+     * <p> <h3>Introduce</h3>
+     * <p> Dao extends with Jooq Dynamic api to create Repository interface for a {@link Mimic}.
+     * <p> <b>Note:</b>
+     * <p>  Dao can not be inherited. that means a Dao must directly extended {@link Dao}.
+     * <p>  {@link Mimic} used by Dao must directly annotate with {@link Entity}.
+     * <p>  {@link Mimic} will enable Property Change Recording, which store changed Property Name in {@link Mimic#underlyingChangedProperties()}.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked", "unused", "UnusedReturnValue"})
+    interface Dao<T extends Mimic> {
+
+        //region Units
+        /**
+         * this is special case for MySQL can't use timestamp with TimeZone
+         */
+        DataType<Instant> InstantAsTimestamp = SQLDataType.TIMESTAMP
+            .asConvertedDataType(Converter.of(Timestamp.class, Instant.class, Timestamp::toInstant, Timestamp::from));
+        DataType<Long> BigIntIdentity = SQLDataType.BIGINT.identity(true);
+        DataType<Instant> InstantAsTimestampDefaultNow = SQLDataType.TIMESTAMP
+            .nullable(false)
+            .default_(DSL.now())
+            .asConvertedDataType(Converter.of(Timestamp.class, Instant.class, Timestamp::toInstant, Timestamp::from));
+        String TypeInstantAsTimestamp = "InstantAsTimestamp";
+        String TypeBigIntIdentity = "BigIntIdentity";
+        String TypeInstantAsTimestampDefaultNow = "InstantAsTimestampDefaultNow";
+        Function<DataType, DataType> Identity = x -> x.identity(true);
+        Function<DataType, DataType> NotNull = x -> x.nullable(false);
+        Function<DataType, DataType> DefaultNull = x -> x.nullable(true).default_(null);
+        Function<DataType, DataType> DefaultNow = x -> x.isTimestamp() ? x.default_(DSL.now()) : x;
+        String ProcIdentity = "Identity";
+        String ProcNotNull = "NotNull";
+        String ProcDefaultNull = "DefaultNull";
+        String ProcDefaultNow = "DefaultNow";
+        //endregion
+
+        //region Definitions
+
+        /**
+         * this method used to fetch a DSLContext
+         * <p><b>NOTE:</b> DO NOT OVERRIDE
+         */
+        DSLContext ctx();
+
+        /**
+         * this method used to fetch the defined Table
+         * <p><b>NOTE:</b> DO NOT OVERRIDE
+         */
+        Table<Record> table();
+
+        /**
+         * this method used to convert database map to Mimic Instance
+         * <p><b>NOTE:</b> DO NOT OVERRIDE
+         */
+        T instance(Map<String, Object> data);
+
+        /**
+         * this method used to convert Entity map to Database map
+         * <p><b>NOTE:</b> DO NOT OVERRIDE
+         */
+        Map<String, Object> toDatabase(Map<String, Object> data);
+
+        /**
+         * this method used to convert Database map to Entity map
+         * <p><b>NOTE:</b> DO NOT OVERRIDE
+         */
+        Map<String, Object> toEntity(Map<String, Object> data);
+
+        /**
+         * this method used to fetch internal Configuration
+         * <p><b>NOTE:</b> DO NOT OVERRIDE
+         */
+        @ApiStatus.AvailableSince("1.0.5")
+        Configuration configuration();
+
+        /**
+         * this method returns all fields in database order
+         * <p><b>NOTE:</b> MAYBE OVERRIDE
+         */
+        List<Field<?>> allFields();
+
+        /**
+         * default method to find all into a Seq
+         */
+        @ApiStatus.AvailableSince("1.0.7")
+        default Stream<T> queryAll() {
+            return ctx()
+                .select(allFields())
+                .from(table())
+                .fetchStream()
+                .map(x -> instance(x.intoMap()));
+        }
+
+        /**
+         * default method to find with conditionOperator into a Stream
+         *
+         * @deprecated use {@link #stream(Function)} instead
+         */
+        @ApiStatus.AvailableSince("1.0.7")
+        @Deprecated
+        default Stream<T> queryConditional(@NotNull Function<SelectJoinStep<?>, ResultQuery<?>> conditionOperator) {
+            return stream(conditionOperator);
+        }
+
+        /**
+         * Query many by condition
+         *
+         * @param conditionOperator condition
+         * @return stream
+         */
+        @ApiStatus.AvailableSince("1.2.0")
+        default Stream<T> stream(@NotNull Function<SelectJoinStep<?>, ResultQuery<?>> conditionOperator) {
+            return conditionOperator.apply(
+                    ctx()
+                        .select(allFields())
+                        .from(table())
+                )
+                .fetchStream()
+                .map(x -> instance(x.intoMap()));
+        }
+
+        /**
+         * Query many by condition, with select of fields
+         *
+         * @param fields            to query
+         * @param conditionOperator condition
+         * @param dto               output Data Transport Object (which must a Mimic interface)
+         * @return stream
+         */
+        @ApiStatus.AvailableSince("1.2.0")
+        default <O extends Mimic> Stream<O> stream(@NotNull List<Field<?>> fields, @NotNull Function<SelectJoinStep<?>, ResultQuery<?>> conditionOperator, @NotNull Class<O> dto) {
+            final var factory = mimics.factoryOf(dto);
+            return conditionOperator.apply(
+                    ctx()
+                        .select(fields)
+                        .from(table())
+                )
+                .fetchStream()
+                .map(x -> (O) factory.build(x.intoMap()));
+        }
+
+        /**
+         * Query many by condition, with select of fields
+         *
+         * @param fields            to query
+         * @param conditionOperator condition
+         * @param dto               output Data Transport Object (which must a Pojo class or interface)
+         * @return stream
+         */
+        @ApiStatus.AvailableSince("1.2.0")
+        default <O> Stream<O> streamPojo(@NotNull List<Field<?>> fields, @NotNull Function<SelectJoinStep<?>, ResultQuery<?>> conditionOperator, @NotNull Class<O> dto) {
+            if (Mimic.class.isAssignableFrom(dto))
+                return (Stream<O>) stream(fields, conditionOperator, (Class<Mimic>) dto);
+            return conditionOperator.apply(
+                    ctx()
+                        .select(fields)
+                        .from(table())
+                )
+                .fetchStream()
+                .map(x -> x.into(dto));
+        }
+
+        /**
+         * rebind an instance to a record, the instance is reused instead of {@link #instance(Map)}.
+         *
+         * @see MimicFactory#reset(Mimic, Map)
+         */
+        @ApiStatus.AvailableSince("1.2.0")
+        default T reload(@NotNull T instance, @NotNull Record record) {
+            return (T) mimics.reset(instance, toEntity(record.intoMap()));
+        }
+
+        /**
+         * insert value into
+         */
+        @ApiStatus.AvailableSince("1.0.7")
+        default int inertInto(T value) {
+            return ctx().insertInto(table())
+                .set(toDatabase(value.underlyingMap()))
+                .execute();
+        }
+
+        /**
+         * update value with condition
+         */
+        @ApiStatus.AvailableSince("1.0.7")
+        default int updateWith(T value, Condition condition) {
+            var changes = value.underlyingChangedProperties();
+            var data = value.underlyingMap();
+            var map = new HashMap<String, Object>(changes.size());
+            for (var p : changes) map.put(p, data.get(p));
+            return ctx().update(table())
+                .set(toDatabase(map))
+                .where(condition)
+                .execute();
+        }
+
+
+        /**
+         * a light weight DDL for createTableIfNotExists
+         */
+        default int DDL() {
+            return
+                setConstants(
+                    ctx()
+                        .createTableIfNotExists(table())
+                        .columns(allFields().toArray(Field[]::new))
+                )
+                    .execute();
+        }
+
+        /**
+         * this method used to add constants for {@link Dao#DDL}
+         */
+        default CreateTableElementListStep setConstants(CreateTableElementListStep columns) {
+            return columns;
+        }
+        //endregion
+
+
+        /**
+         * set global JOOQ configuration to avoid pass configuration to {@link Dao#newInstance} every time.
+         *
+         * @param config the jooq configuration
+         */
+        static void setConfiguration(Configuration config) {
+            daos.setConfiguration(config);
+        }
+
+        /**
+         * create new Dao instance
+         * <p>this method will check the configuration status:
+         * <p>if found connection with AutoCommit true ( means that it's a transaction configuration ), will set it as Global Configuration, else won't.
+         *
+         * @param entity the Mimic type
+         * @param dao    the Dao type
+         * @param config the jooq configuration, if already set once or set with {@link Dao#setConfiguration}, it could be null.
+         *               <b>Note:</b> everytime pass a configuration will override global configuration in Dao. but won't affect with Dao instance.
+         * @return a Dao Instance
+         */
+        static <T extends Mimic, D extends Dao<T>> D newInstance(@NotNull Class<T> entity, @NotNull Class<D> dao, Configuration config) {
+            return daos.createRepo(entity, dao, config);
+        }
+
+
+        /**
+         * use Byte ASM Mode for DAO
+         */
+        interface ByteASM {
+            static void enable() {
+                daos.cache.set(daos.AsmFactory.cache::get);
+            }
+        }
+
+        /**
+         * use JDK Dynamic Proxy Mode for DAO
+         */
+        interface DynamicProxy {
+            static void enable() {
+                daos.cache.set(daos.DynamicFactory.cache::get);
+            }
+        }
+
+        /**
+         * use implements generated at compile time for DAO, see {@link Mimic.Precompiled}
+         */
+        @ApiStatus.AvailableSince("1.2.0")
+        interface Precompiled {
+            static void enable() {
+                daos.cache.set(daos.PrecompiledFactory.cache::get);
+            }
+        }
+
+        /**
+         * define a Mimic is Entity,which can build a Repository;
+         * <p>this must <b>directly</b> annotate on a Mimic type;
+         */
+        @Retention(RetentionPolicy.RUNTIME)
+        @Target(ElementType.TYPE)
+        @Documented
+        @interface Entity {
+            String value() default "";
+        }
+
+        /**
+         * define a Field detail
+         */
+        @Retention(RetentionPolicy.RUNTIME)
+        @Target(ElementType.METHOD)
+        @Inherited
+        @Documented
+        @interface As {
+            /**
+             * define field name,default is Property name convert to underscore case.
+             */
+            String value() default "";
+
+            /**
+             * which class hold current field DataType
+             */
+            Class<?> typeHolder() default Dao.class;
+
+            /**
+             * which public static field in {@link As#typeHolder()} is the {@link DataType} of current field.
+             * <p> see {@link Dao#BigIntIdentity} as Example.
+             */
+            String typeProperty() default "";
+
+            /**
+             * define a class holds the DataType Processor;
+             * <p>see {@link Dao#Identity} as Example
+             */
+            Class<?> procHolder() default Dao.class;
+
+            /**
+             * define a static property holds the DataType Processor on {@link As#procHolder()}
+             * <p> the property must is type Function< DataType , DataType >
+             */
+            String procProperty() default "";
+        }
+
+        /**
+         * define a property is converted to string, should not use with {@link Many}
+         */
+        @Retention(RetentionPolicy.RUNTIME)
+        @Target(ElementType.METHOD)
+        @Inherited
+        @Documented
+        @interface AsString {
+            /**
+             * the holder of Converter Methods;
+             * If is predefined type,should keep it Void;
+             * <p>current predefined type is: {@link BigDecimal} {@link Long} {@link Instant}
+             */
+            Class<?> value() default Void.class;
+
+            /**
+             * the static property name of convert String to T
+             * <p> which must have type {@link Function}
+             * as Function< String, Object >;
+             */
+            String fromProperty() default "fromString";
+
+            /**
+             * the static property name of convert T to String;
+             * <p>which must have type {@link Function}
+             * as Function< Object,String >;
+             */
+            String toProperty() default "toString";
+        }
+    }
+
+    /**
+     * mark the mimic use Concurrent protection.
+     * <p>the default mode is lock free: changed properties are tracked atomically,
+     * the dynamic proxy stores in a concurrent hashmap and the ASM implement uses volatile fields.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @Inherited
+    @Documented
+    @interface Concurrent {
+        /**
+         * use lock not concurrent hashmap: not suggested.
+         */
+        boolean value() default false;
+    }
+
+    /**
+     * mark the Mimic as immutable: values are final and changes are not tracked,
+     * a setter returns a copy which shares all other values, so setters must return the Mimic type.
+     * <p>immutable instances can be shared between threads without synchronization, the hashCode is cached.
+     * <p><b>Note:</b> {@link Mimic#underlyingMap()} is read only, and it's not for entity of {@link Dao}.
+     * immutable Mimic is never precompiled.
+     */
+    @ApiStatus.AvailableSince("1.2.0")
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @Documented
+    @interface Immutable {
+    }
+
+    /**
+     * mark a Mimic or a Dao to generate implement at compile time by the annotation processor
+     * from artifact {@code mimic-processor}, the generated implement is used by {@link Mimic.Precompiled} mode.
+     */
+    @Retention(RetentionPolicy.CLASS)
+    @Target(ElementType.TYPE)
+    @Documented
+    @interface Precompile {
+    }
+
+    /**
+     * define a Mimic type use JavaBean GetterSetter protocol
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @Inherited
+    @Documented
+    @interface JavaBean {
+        /**
+         * Allow Fluent Mode
+         */
+        boolean value() default false;
+    }
+
+    /**
+     * <p>used to define Validation on Getter;
+     * <p>this used to Validate on Set and on validate method;
+     * <p>if current property is Annotated with {@link Dao.AsString},the Validation only happened when Setter is called.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    @Inherited
+    @Documented
+    @interface Validation {
+        /**
+         * the holder of Validation Property;
+         */
+        Class<?> value() default Validate.class;
+
+        /**
+         * the static property name of Validate BiConsumer< PropertyName,Value >
+         */
+        String property() default "noop";
+
+    }
+
+    /**
+     * define a property is Collection of Mimic;
+     * <p>Current support 1. Array 2. List 3. Set;
+     * <p>should not use with {@link Many}
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    @Inherited
+    @Documented
+    @interface Many {
+        /**
+         * mark the value type
+         */
+        Class<? extends Mimic> value();
+    }
+}
\ No newline at end of file
@@ -4,13 +4,21 @@ import cn.zenliu.units.reflect.Ref;
 import lombok.SneakyThrows;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.io.File;
 import java.lang.annotation.Annotation;
 import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -26,6 +34,97 @@ interface Util {
         return Ref.$.unreflectSpeical(m, declaringClass);
     }
 
+    /**
+     * resolve a default method as an invoker of type (Object receiver,Object[] arguments)Object,
+     * which should be invoked with {@link MethodHandle#invokeExact}.
+     * <p>the resolving is expensive, result should be cached by caller.
+     */
+    static MethodHandle fetchDefaultInvoker(Class<?> declaringClass, Method m) {
+        var h = fetchMethod(declaringClass, m);
+        if (m.getParameterCount() == 0) {
+            //arguments maybe null when no parameters
+            return MethodHandles.dropArguments(h.asType(MethodType.methodType(Object.class, Object.class)), 1, Object[].class);
+        }
+        return h.asSpreader(Object[].class, m.getParameterCount())
+            .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+    }
+
+    /**
+     * scan Mimic and Dao interfaces in packages and their sub packages, from directories and jars of class path.
+     */
+    @SneakyThrows
+    static List<Class<?>> scanTypes(ClassLoader loader, String... packages) {
+        var result = new ArrayList<Class<?>>();
+        for (var pkg : packages) {
+            var path = pkg.replace('.', '/');
+            var names = new TreeSet<String>();
+            var urls = loader.getResources(path);
+            while (urls.hasMoreElements()) {
+                var url = urls.nextElement();
+                if ("file".equals(url.getProtocol())) {
+                    var root = Paths.get(url.toURI());
+                    try (var files = Files.walk(root)) {
+                        files.map(x -> root.relativize(x).toString())
+                            .filter(x -> x.endsWith(".class"))
+                            .forEach(x -> names.add(path + "/" + x.replace(File.separatorChar, '/')));
+                    }
+                } else if ("jar".equals(url.getProtocol())) {
+                    var con = (JarURLConnection) url.openConnection();
+                    con.setUseCaches(false);
+                    try (var jar = con.getJarFile()) {
+                        jar.stream().map(JarEntry::getName)
+                            .filter(x -> x.startsWith(path + "/") && x.endsWith(".class"))
+                            .forEach(names::add);
+                    }
+                }
+            }
+            for (var name : names) {
+                try {
+                    var c = Class.forName(name.substring(0, name.length() - 6).replace('/', '.'), false, loader);
+                    if (c.isInterface() && c != Mimic.class && c != Mimic.Dao.class
+                        && (Mimic.class.isAssignableFrom(c) || Mimic.Dao.class.isAssignableFrom(c)))
+                        result.add(c);
+                } catch (ClassNotFoundException | LinkageError e) {
+                    //not loadable, ignore
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * is ByteBuddy on the classpath
+     */
+    boolean byteBuddyPresent = isPresent("net.bytebuddy.ByteBuddy");
+
+    static boolean isPresent(String className) {
+        try {
+            Class.forName(className, false, Util.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * fetch the implement generated at compile time for a type
+     *
+     * @param type   the interface type
+     * @param suffix the suffix appended to the binary name of type
+     * @return the implement class or null if not exists
+     */
+    static Class<?> fetchPrecompiled(Class<?> type, String suffix) {
+        try {
+            var cls = Class.forName(type.getName() + suffix, false, type.getClassLoader());
+            if (!type.isAssignableFrom(cls)) {
+                throw new IllegalStateException("precompiled '" + cls + "' is not implement of '" + type + "'");
+            }
+            return cls;
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
     @SneakyThrows
     static Object fetchStaticFieldValue(Class<?> cls, String field) {
         var mField = cls.getField(field);
@@ -57,11 +156,11 @@ interface Util {
         );
         Predicate<Method> isBeanSetter = x -> (x.getParameterCount() == 1 &&
                                                x.getName().startsWith("set") &&
-                                               (x.getReturnType() == Void.TYPE || x.getReturnType() == x.getDeclaringClass()));
+                                               (x.getReturnType() == Void.TYPE || x.getReturnType().isAssignableFrom(x.getDeclaringClass())));
 
         Predicate<Method> isFluentSetter = x -> (
             x.getParameterCount() == 1 &&
-            (x.getReturnType() == Void.TYPE || x.getReturnType() == x.getDeclaringClass())
+            (x.getReturnType() == Void.TYPE || x.getReturnType().isAssignableFrom(x.getDeclaringClass()))
         );
         Predicate<Method> isFluentGetter = x -> (x.getParameterCount() == 0 && x.getReturnType() != Void.TYPE);
         Predicate<Method> fluentGetter = isPublicNoneDefault.and(isFluentGetter);
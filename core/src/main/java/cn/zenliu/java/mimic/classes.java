@@ -0,0 +1,175 @@
+package cn.zenliu.java.mimic;
+
+import lombok.SneakyThrows;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassInjector;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * loading of implements generated by ByteBuddy.
+ * <p>with system property {@code mimic.classCache} as a directory, the generated class bytes are stored on disk
+ * and keyed by the hash of interface structure, later starts define the stored bytes directly.
+ * a changed interface misses the stored one and generates again.
+ * <p>with system property {@code mimic.hiddenClass} as true, implements are defined as hidden classes of the interface,
+ * which could be unloaded once the factory is evicted from cache. the default {@link ClassValue} registry keeps factories
+ * as long as the interface, so the registry defaults to Caffeine in this mode, see {@code mimics.Registry}.
+ *
+ * @author Zen.Liu
+ * @since 2026-10-17
+ */
+final class classes {
+    private classes() {
+        throw new IllegalAccessError();
+    }
+
+    /**
+     * version of the generated bytes, must be increased once generation is changed.
+     */
+    static final int FORMAT = 1;
+    /**
+     * directory of class bytes cache, null if disabled.
+     */
+    static final Path dir = Optional.ofNullable(System.getProperty("mimic.classCache")).map(Paths::get).orElse(null);
+    /**
+     * define implements as hidden classes.
+     */
+    static final boolean hidden = Boolean.getBoolean("mimic.hiddenClass");
+
+    /**
+     * counters of definition, standalone to be readable without ByteBuddy.
+     * <p>times of definition are kept on the interface by {@link ClassValue} and keyed by generated name,
+     * as an interface may have several generated classes, such as the implement and the table view.
+     * the counts never reference the generated classes and are dropped with the interface.
+     */
+    static final class Stats {
+        static final LongAdder generated = new LongAdder();
+        static final LongAdder regenerated = new LongAdder();
+        //interface => generated name => times of definition
+        static final ClassValue<Map<String, AtomicInteger>> definitions = new ClassValue<>() {
+            @Override
+            protected Map<String, AtomicInteger> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+        static void count(Class<?> face, String name) {
+            generated.increment();
+            if (definitions.get(face).computeIfAbsent(name, k -> new AtomicInteger()).incrementAndGet() > 1) {
+                regenerated.increment();
+                if (Mimic.log.isDebugEnabled()) Mimic.log.debug("regenerate '{}' after eviction", name);
+            }
+        }
+    }
+
+    //name of generated implement, hidden class must be in the package of the interface
+    static String nameOf(Class<?> face) {
+        return (hidden ? face.getName() : face.getCanonicalName()) + "$ASM";
+    }
+
+    //(interface,generated name,super class,generator)=>loaded class
+    static Class<?> define(Class<?> face, String name, Class<?> base, Supplier<DynamicType.Unloaded<?>> generator) {
+        return define(dir, face, name, base, generator);
+    }
+
+    //(cache directory,interface,generated name,super class,generator)=>loaded class, not cached if directory is null
+    static Class<?> define(Path dir, Class<?> face, String name, Class<?> base, Supplier<DynamicType.Unloaded<?>> generator) {
+        Stats.count(face, name);
+        Path file = null;
+        if (dir != null) {
+            file = dir.resolve(name + "-" + structureHash(face, base) + ".class");
+            if (Files.isRegularFile(file)) {
+                try {
+                    var bytes = Files.readAllBytes(file);
+                    return hidden ? defineHidden(face, bytes) : inject(face, name, bytes);
+                } catch (IOException | RuntimeException | LinkageError e) {
+                    Mimic.log.warn("fail to define '{}' from cached {}, will generate again", name, file, e);
+                }
+            }
+        }
+        var unloaded = generator.get();
+        //only a single type without auxiliaries or initializers could be defined from raw bytes
+        var raw = unloaded.getAuxiliaryTypes().isEmpty() && !unloaded.hasAliveLoadedTypeInitializers();
+        var type = hidden && raw
+            ? defineHidden(face, unloaded.getBytes())
+            : unloaded.load(face.getClassLoader(), ClassLoadingStrategy.Default.INJECTION).getLoaded();
+        if (file != null && raw) store(file, unloaded.getBytes());
+        return type;
+    }
+
+    //define as a hidden class nest with the interface, not strongly referenced by the class loader
+    @SneakyThrows
+    static Class<?> defineHidden(Class<?> face, byte[] bytes) {
+        return MethodHandles.privateLookupIn(face, MethodHandles.lookup())
+            .defineHiddenClass(bytes, true, MethodHandles.Lookup.ClassOption.NESTMATE)
+            .lookupClass();
+    }
+
+    //same as injection strategy, returns the loaded one if the name is already defined
+    static Class<?> inject(Class<?> face, String name, byte[] bytes) {
+        return new ClassInjector.UsingReflection(face.getClassLoader())
+            .injectRaw(Collections.singletonMap(name, bytes))
+            .get(name);
+    }
+
+    static void store(Path file, byte[] bytes) {
+        try {
+            Files.createDirectories(file.getParent());
+            var tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.write(tmp, bytes);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Mimic.log.warn("fail to store generated class to {}", file, e);
+        }
+    }
+
+    /**
+     * hash of the generation inputs: the format, the super class and the interface with all of its super interfaces.
+     */
+    static String structureHash(Class<?> face, Class<?> base) {
+        var b = new StringBuilder().append(FORMAT).append('\n');
+        structure(b, base);
+        var faces = new TreeMap<String, Class<?>>();
+        collectInterfaces(face, faces);
+        for (var f : faces.values()) structure(b, f);
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(b.toString().getBytes(StandardCharsets.UTF_8));
+            var hex = new StringBuilder(32);
+            for (int i = 0; i < 16; i++) hex.append(String.format("%02x", digest[i]));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void collectInterfaces(Class<?> face, Map<String, Class<?>> faces) {
+        if (faces.putIfAbsent(face.getName(), face) != null) return;
+        for (var f : face.getInterfaces()) collectInterfaces(f, faces);
+    }
+
+    private static void structure(StringBuilder b, Class<?> type) {
+        b.append(type.getName()).append(Arrays.toString(type.getAnnotations())).append('\n');
+        var members = new TreeSet<String>();
+        for (Member f : type.getDeclaredFields()) members.add(f.toString());
+        for (var c : type.getDeclaredConstructors()) members.add(c.toGenericString());
+        for (Method m : type.getDeclaredMethods())
+            members.add(m.toGenericString() + (m.isDefault() ? " default" : "") + Arrays.toString(m.getAnnotations()));
+        for (var m : members) b.append(m).append('\n');
+    }
+}
@@ -0,0 +1,455 @@
+package cn.zenliu.java.mimic;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * implements of {@link Mimic.Codec}.
+ * <p>values are in getter form, so a {@link Mimic.Dao.AsString} property is written in its getter type.
+ *
+ * @author Zen.Liu
+ * @since 2026-10-17
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class codecs {
+    private codecs() {
+        throw new IllegalAccessError();
+    }
+
+    /**
+     * writer and reader of a value, null is handled by the caller.
+     */
+    interface Coder {
+        void write(DataOutput out, Object v) throws IOException;
+
+        Object read(DataInput in) throws IOException;
+    }
+
+    /**
+     * layout of a Mimic type.
+     */
+    static final class Schema {
+        final Class<?> type;
+        final mimics.PropertyInfo[] slots;
+        final Coder[] coders;
+        //hash of property names and types, written before the values
+        final int fingerprint;
+
+        Schema(Class<?> type, mimics.PropertiesInfo info) {
+            this.type = type;
+            this.slots = info.slots();
+            this.coders = new Coder[slots.length];
+            var h = type.getName().hashCode();
+            for (var pi : slots) {
+                coders[pi.ordinal] = coder(type, pi);
+                h = 31 * (31 * h + pi.property.hashCode()) + pi.type.getName().hashCode();
+            }
+            this.fingerprint = h;
+        }
+
+        void write(DataOutput out, Mimic m) throws IOException {
+            var values = values(m, slots);
+            var bits = new byte[(slots.length + 7) >>> 3];
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) bits[i >>> 3] |= (byte) (1 << (i & 7));
+            }
+            out.write(bits);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) coders[i].write(out, values[i]);
+            }
+        }
+
+        Mimic read(DataInput in) throws IOException {
+            var bits = new byte[(slots.length + 7) >>> 3];
+            in.readFully(bits);
+            var values = new Object[slots.length];
+            for (int i = 0; i < values.length; i++) {
+                if ((bits[i >>> 3] & (1 << (i & 7))) != 0) values[i] = coders[i].read(in);
+            }
+            return mimics.factoryOf(type).buildSlots(values);
+        }
+    }
+
+    static final mimics.Registry<Class, Schema> schemas = mimics.Registry.of(codecs::schema);
+
+    static Schema schema(Class<?> type) {
+        if (!Mimic.class.isAssignableFrom(type)) throw new IllegalStateException(type + " is not a Mimic");
+        var info = mimics.Factory.infoCache.get(type);
+        if (info == null) throw new IllegalStateException("could not generate mimic info from " + type);
+        return new Schema(type, info.getPropertyInfo());
+    }
+
+    static final class MimicCodec<T extends Mimic> implements Mimic.Codec<T> {
+        final Class<T> type;
+        final Schema schema;
+
+        MimicCodec(Class<T> type) {
+            this.type = type;
+            this.schema = schemas.get(type);
+        }
+
+        @Override
+        public @NotNull Class<T> type() {
+            return type;
+        }
+
+        @Override
+        public void write(@NotNull T value, @NotNull DataOutput out) throws IOException {
+            out.writeInt(schema.fingerprint);
+            schema.write(out, value);
+        }
+
+        @Override
+        public @NotNull T read(@NotNull DataInput in) throws IOException {
+            var f = in.readInt();
+            if (f != schema.fingerprint)
+                throw new IllegalStateException("fingerprint " + Integer.toHexString(f) + " not match " + type.getName());
+            return (T) schema.read(in);
+        }
+
+        @Override
+        public byte[] encode(@NotNull T value) {
+            var buf = new ByteArrayOutputStream(64);
+            try {
+                write(value, new DataOutputStream(buf));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buf.toByteArray();
+        }
+
+        @Override
+        public @NotNull T decode(byte[] bytes) {
+            try {
+                return read(new DataInputStream(new ByteArrayInputStream(bytes)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    //(instance,slots)=>values in getter form indexed by slot
+    static Object[] values(Mimic m, mimics.PropertyInfo[] slots) {
+        var values = new Object[slots.length];
+        var read = reader(m);
+        for (var pi : slots) values[pi.ordinal] = read.apply(pi);
+        return values;
+    }
+
+    //(instance)=>reader of property in getter form, read from the implement directly
+    //properties of the same type are indexed by slot, instance may be a sub type where properties are matched by name
+    static Function<mimics.PropertyInfo, Object> reader(Mimic m) {
+        var o = mimics.handler(m);
+        if (o instanceof mimics.AsmFactory.Base) {
+            var b = (mimics.AsmFactory.Base) o;
+            if (b.lock == null) return pi -> {
+                var k = slot(b.slots, b.info, pi);
+                return k < 0 ? null : b.load(k);
+            };
+            return pi -> {
+                var k = slot(b.slots, b.info, pi);
+                return k < 0 ? null : b.trySync(() -> b.load(k));
+            };
+        } else if (o instanceof mimics.ImmutableFactory.Frozen) {
+            var f = (mimics.ImmutableFactory.Frozen) o;
+            return pi -> {
+                var k = slot(f.shape.slots, f.shape.info, pi);
+                return k < 0 ? null : f.values[k];
+            };
+        } else if (o instanceof mimics.ProxyFactory.ProxyInstance) {
+            var p = (mimics.ProxyFactory.ProxyInstance) o;
+            var slots = p.factory.prop.slots();
+            return pi -> {
+                var k = slot(slots, p.factory.prop, pi);
+                return k < 0 ? null : p.value(slots[k]);
+            };
+        } else if (o instanceof tables.View) {
+            var v = (tables.View) o;
+            var layout = v.table.layout;
+            return pi -> {
+                var k = slot(layout.slots, layout.info, pi);
+                return k < 0 ? null : v.table.read(k, v.row);
+            };
+        }
+        var map = m.underlyingMap();
+        return pi -> {
+            var x = map.get(pi.property);
+            return x == null ? null : pi.invokeGetter(x);
+        };
+    }
+
+    //(slots,properties,property)=>slot of the property in the properties, -1 if absent
+    static int slot(mimics.PropertyInfo[] slots, mimics.PropertiesInfo info, mimics.PropertyInfo pi) {
+        if (pi.ordinal < slots.length && slots[pi.ordinal] == pi) return pi.ordinal;
+        var x = info.get(pi.property);
+        return x == null ? -1 : x.ordinal;
+    }
+
+    //region coders
+
+    //(type,property)=>coder
+    static Coder coder(Class<?> type, mimics.PropertyInfo pi) {
+        if (pi.getterConv instanceof mimics.Nested) {
+            var n = (mimics.Nested) pi.getterConv;
+            var element = nested(n.type);
+            if (n.type == n.prop) return element;
+            if (n.prop.isArray()) return array(n.type, element);
+            if (Set.class.isAssignableFrom(n.prop)) return collection(element, LinkedHashSet::new);
+            return collection(element, ArrayList::new);
+        }
+        var c = of(pi.type);
+        if (c == null)
+            throw new IllegalStateException("type " + pi.type + " of property '" + pi.property + "' of " + type.getName() + " is not supported by codec");
+        return c;
+    }
+
+    //(value type)=>coder, null if not supported
+    static Coder of(Class<?> t) {
+        if (t == long.class || t == Long.class) return LONG;
+        if (t == int.class || t == Integer.class) return INT;
+        if (t == short.class || t == Short.class) return SHORT;
+        if (t == byte.class || t == Byte.class) return BYTE;
+        if (t == char.class || t == Character.class) return CHAR;
+        if (t == double.class || t == Double.class) return DOUBLE;
+        if (t == float.class || t == Float.class) return FLOAT;
+        if (t == boolean.class || t == Boolean.class) return BOOLEAN;
+        if (t == String.class) return STRING;
+        if (t == BigDecimal.class) return DECIMAL;
+        if (t == BigInteger.class) return INTEGER;
+        if (t == Instant.class) return INSTANT;
+        if (t == UUID.class) return UID;
+        if (t == byte[].class) return BYTES;
+        if (t.isEnum()) return enumeration(t);
+        if (Mimic.class.isAssignableFrom(t)) return nested(t);
+        return null;
+    }
+
+    static final Coder LONG = new Coder() {
+        public void write(DataOutput out, Object v) throws IOException {
+            out.writeLong(((Number) v).longValue());
+        }
+
+        public Object read(DataInput in) throws IOException {
+            return in.readLong();
+        }
+    };
+    static final Coder INT = new Coder() {
+        public void write(DataOutput out, Object v) throws IOException {
+            out.writeInt(((Number) v).intValue());
+        }
+
+        public Object read(DataInput in) throws IOException {
+            return in.readInt();
+        }
+    };
+    static final Coder SHORT = new Coder() {
+        public void write(DataOutput out, Object v) throws IOException {
+            out.writeShort(((Number) v).shortValue());
+        }
+
+        public Object read(DataInput in) throws IOException {
+            return in.readShort();
+        }
+    };
+    static final Coder BYTE = new Coder() {
+        public void write(DataOutput out, Object v) throws IOException {
+            out.writeByte(((Number) v).byteValue());
+        }
+
+        public Object read(DataInput in) throws IOException {
+            return in.readByte();
+        }
+    };
+    static final Coder CHAR = new Coder() {
+        public void write(DataOutput out, Object v) throws IOException {
+            out.writeChar((Character) v);
+        }
+
+        public Object read(DataInput in) throws IOException {
+            return in.readChar();
+        }
+    };
+    static final Coder DOUBLE = new Coder() {
+        public void write(DataOutput out, Object v) throws IOException {
+            out.writeDouble(((Number) v).doubleValue());
+        }
+
+        public Object read(DataInput in) throws IOException {
+            return in.readDouble();
+        }
+    };
+    static final Coder FLOAT = new Coder() {
+        public void write(DataOutput out, Object v) throws IOException {
+            out.writeFloat(((Number) v).floatValue());
+        }
+
+        public Object read(DataInput in) throws IOException {
+            return in.readFloat();
+        }
+    };
+    static final Coder BOOLEAN = new Coder() {
+        public void write(DataOutput out, Object v) throws IOException {
+            out.writeBoolean((Boolean) v);
+        }
+
+        public Object read(DataInput in) throws IOException {
+            return in.readBoolean();
+        }
+    };
+    static final Coder BYTES = new Coder() {
+        public void write(DataOutput out, Object v) throws IOException {
+            var b = (byte[]) v;
+            writeVarInt(out, b.length);
+            out.write(b);
+        }
+
+        public Object read(DataInput in) throws IOException {
+            var b = new byte[readVarInt(in)];
+            in.readFully(b);
+            return b;
+        }
+    };
+    static final Coder STRING = new Coder() {
+        public void write(DataOutput out, Object v) throws IOException {
+            BYTES.write(out, ((String) v).getBytes(StandardCharsets.UTF_8));
+        }
+
+        public Object read(DataInput in) throws IOException {
+            return new String((byte[]) BYTES.read(in), StandardCharsets.UTF_8);
+        }
+    };
+    static final Coder INTEGER = new Coder() {
+        public void write(DataOutput out, Object v) throws IOException {
+            BYTES.write(out, ((BigInteger) v).toByteArray());
+        }
+
+        public Object read(DataInput in) throws IOException {
+            return new BigInteger((byte[]) BYTES.read(in));
+        }
+    };
+    static final Coder DECIMAL = new Coder() {
+        public void write(DataOutput out, Object v) throws IOException {
+            var d = (BigDecimal) v;
+            out.writeInt(d.scale());
+            INTEGER.write(out, d.unscaledValue());
+        }
+
+        public Object read(DataInput in) throws IOException {
+            var scale = in.readInt();
+            return new BigDecimal((BigInteger) INTEGER.read(in), scale);
+        }
+    };
+    static final Coder INSTANT = new Coder() {
+        public void write(DataOutput out, Object v) throws IOException {
+            var i = (Instant) v;
+            out.writeLong(i.getEpochSecond());
+            out.writeInt(i.getNano());
+        }
+
+        public Object read(DataInput in) throws IOException {
+            return Instant.ofEpochSecond(in.readLong(), in.readInt());
+        }
+    };
+    static final Coder UID = new Coder() {
+        public void write(DataOutput out, Object v) throws IOException {
+            var u = (UUID) v;
+            out.writeLong(u.getMostSignificantBits());
+            out.writeLong(u.getLeastSignificantBits());
+        }
+
+        public Object read(DataInput in) throws IOException {
+            return new UUID(in.readLong(), in.readLong());
+        }
+    };
+
+    static Coder enumeration(Class<?> type) {
+        var values = type.getEnumConstants();
+        return new Coder() {
+            public void write(DataOutput out, Object v) throws IOException {
+                writeVarInt(out, ((Enum) v).ordinal());
+            }
+
+            public Object read(DataInput in) throws IOException {
+                return values[readVarInt(in)];
+            }
+        };
+    }
+
+    //nested Mimic without fingerprint, the schema is resolved on use for recursive types
+    static Coder nested(Class<?> type) {
+        return new Coder() {
+            public void write(DataOutput out, Object v) throws IOException {
+                schemas.get(type).write(out, (Mimic) v);
+            }
+
+            public Object read(DataInput in) throws IOException {
+                return schemas.get(type).read(in);
+            }
+        };
+    }
+
+    //elements are written with a presence flag
+    static Coder collection(Coder element, IntFunction<Collection<Object>> builder) {
+        return new Coder() {
+            public void write(DataOutput out, Object v) throws IOException {
+                var c = (Collection<?>) v;
+                writeVarInt(out, c.size());
+                for (var x : c) {
+                    out.writeBoolean(x != null);
+                    if (x != null) element.write(out, x);
+                }
+            }
+
+            public Object read(DataInput in) throws IOException {
+                var n = readVarInt(in);
+                var c = builder.apply(n);
+                for (int i = 0; i < n; i++) c.add(in.readBoolean() ? element.read(in) : null);
+                return c;
+            }
+        };
+    }
+
+    static Coder array(Class<?> type, Coder element) {
+        var list = collection(element, ArrayList::new);
+        return new Coder() {
+            public void write(DataOutput out, Object v) throws IOException {
+                list.write(out, Arrays.asList((Object[]) v));
+            }
+
+            public Object read(DataInput in) throws IOException {
+                var n = readVarInt(in);
+                var a = (Object[]) Array.newInstance(type, n);
+                for (int i = 0; i < n; i++) a[i] = in.readBoolean() ? element.read(in) : null;
+                return a;
+            }
+        };
+    }
+    //endregion
+
+    static void writeVarInt(DataOutput out, int v) throws IOException {
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int v = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            var b = in.readByte();
+            v |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new IllegalStateException("malformed variable length integer");
+    }
+}
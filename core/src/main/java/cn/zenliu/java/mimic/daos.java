@@ -1,13 +1,10 @@
 package cn.zenliu.java.mimic;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.dynamic.DynamicType;
-import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.implementation.MethodCall;
 import net.bytebuddy.implementation.SuperMethodCall;
 import net.bytebuddy.implementation.bytecode.assign.Assigner;
@@ -18,12 +15,15 @@ import org.jooq.impl.DefaultDataType;
 import org.jooq.lambda.Seq;
 import org.jooq.lambda.tuple.Tuple2;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Proxy;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
@@ -49,6 +49,8 @@ public final class daos {
 
             final Class entity;
             final Map<String, String> fieldToProperty;
+            //default method -> invoker
+            final Map<Method, MethodHandle> invokers = new ConcurrentHashMap<>();
 
             Factory(Table<Record> table, Map<String, Field> fields, List<Field<?>> all, Class type, Class entity) {
                 this.table = table;
@@ -103,13 +105,10 @@ public final class daos {
                             return args[0] == null ? null : toProperty((Map<String, Object>) args[0]);
                         default:
                             if (m.isDefault()) {
-                                try {
-                                    return Util.fetchMethod(m.getDeclaringClass(), m)
-                                        .bindTo(result[0])
-                                        .invokeWithArguments(args);
-                                } catch (ReflectiveOperationException e) {
-                                    throw new IllegalStateException("Cannot invoke default method", e);
-                                }
+                                var invoker = invokers.get(m);
+                                if (invoker == null)
+                                    invoker = invokers.computeIfAbsent(m, x -> Util.fetchDefaultInvoker(x.getDeclaringClass(), x));
+                                return (Object) invoker.invokeExact(result[0], args);
                             } else if (m.getParameterCount() == 0 && method.equals("allFields")) {
                                 return all;
                             } else return fields.get(method);
@@ -119,10 +118,7 @@ public final class daos {
             }
         }
 
-        LoadingCache<Tuple2<Class, Class>, DaoFactory> cache = Caffeine.newBuilder()
-            .softValues()
-            .maximumSize(Optional.ofNullable(System.getProperty("mimic.cache")).map(Integer::parseInt).orElse(1024))
-            .build(DynamicFactory::factory);
+        mimics.Registry<Tuple2<Class, Class>, DaoFactory> cache = mimics.Registry.ofPair(DynamicFactory::factory);
 
         static DaoFactory factory(Tuple2<Class, Class> type) {
             var info = DaoFactory.repositoryInfoCache.get(type);
@@ -132,7 +128,7 @@ public final class daos {
         }
     }
 
-    interface AsmFactory {
+    public interface AsmFactory {
         final class Factory implements DaoFactory {
             final Table<Record> table;
             final Map<String, Field> fields;
@@ -228,42 +224,9 @@ public final class daos {
             }
 
             @SneakyThrows
-            private Function<Configuration, Mimic.Dao> build() {
+            private Function<Configuration, Mimic.Dao> build(Class<?> precompiled) {
                 try {
-                    var typeName = type.getCanonicalName() + "$ASM";
-                    final List<Class> faces = new ArrayList<>(Arrays.asList(type.getInterfaces()));
-                    faces.add(0, type);
-                    //var face = (List<Class<?>>) (List) faces;
-                    DynamicType.Builder<?> builder = new ByteBuddy()
-                        .subclass(AsmFactory.Factory.Base.class)
-                        .implement(type)
-                        .name(typeName);
-                    for (var m : type.getMethods()) {
-                        if (Modifier.isStatic(m.getModifiers()) || m.isDefault()) {// fix skip default methods
-                            continue;
-                        }
-                        if (baseMethods.contains(m.getName())) { //else allFields hit this
-                            builder = builder.defineMethod(m.getName(), m.getReturnType(), Visibility.PUBLIC)
-                                .withParameters(Arrays.asList(m.getParameterTypes()))
-                                .intercept(SuperMethodCall.INSTANCE);
-                        } else {
-                            builder = builder.defineMethod(m.getName(), m.getReturnType(), Visibility.PUBLIC)
-                                .withParameters(Arrays.asList(m.getParameterTypes()))
-                                .intercept(MethodCall
-                                    .invoke(FIELD_METHOD)
-                                    .with(m.getName())
-                                    .withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC));
-                        }
-                    }
-                    builder = builder.defineMethod("toString", String.class, Visibility.PUBLIC)
-                        .intercept(SuperMethodCall.INSTANCE);
-                    builder = builder.defineMethod("hashCode", int.class, Visibility.PUBLIC)
-                        .intercept(SuperMethodCall.INSTANCE);
-                    builder = builder.defineMethod("equals", boolean.class, Visibility.PUBLIC)
-                        .withParameters(Object.class)
-                        .intercept(SuperMethodCall.INSTANCE);
-                    var ctor = builder.make().load(type.getClassLoader(), ClassLoadingStrategy.Default.INJECTION)
-                        .getLoaded()
+                    var ctor = (precompiled == null ? generate() : precompiled)
                         .getConstructor(AsmFactory.Factory.class, Configuration.class);
                     return (c) -> {
                         try {
@@ -280,7 +243,55 @@ public final class daos {
                 }
             }
 
+            //generate the implement class with ByteBuddy, or define the cached one
+            private Class<?> generate() {
+                var typeName = classes.nameOf(type);
+                return classes.define(type, typeName, AsmFactory.Factory.Base.class, () -> make(typeName));
+            }
+
+            private DynamicType.Unloaded<?> make(String typeName) {
+                final List<Class> faces = new ArrayList<>(Arrays.asList(type.getInterfaces()));
+                faces.add(0, type);
+                //var face = (List<Class<?>>) (List) faces;
+                DynamicType.Builder<?> builder = new ByteBuddy()
+                    .subclass(AsmFactory.Factory.Base.class)
+                    .implement(type)
+                    .name(typeName);
+                for (var m : type.getMethods()) {
+                    if (Modifier.isStatic(m.getModifiers()) || m.isDefault()) {// fix skip default methods
+                        continue;
+                    }
+                    if (baseMethods.contains(m.getName())) { //else allFields hit this
+                        builder = builder.defineMethod(m.getName(), m.getReturnType(), Visibility.PUBLIC)
+                            .withParameters(Arrays.asList(m.getParameterTypes()))
+                            .intercept(SuperMethodCall.INSTANCE);
+                    } else {
+                        builder = builder.defineMethod(m.getName(), m.getReturnType(), Visibility.PUBLIC)
+                            .withParameters(Arrays.asList(m.getParameterTypes()))
+                            .intercept(MethodCall
+                                .invoke(FIELD_METHOD)
+                                .with(m.getName())
+                                .withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC));
+                    }
+                }
+                builder = builder.defineMethod("toString", String.class, Visibility.PUBLIC)
+                    .intercept(SuperMethodCall.INSTANCE);
+                builder = builder.defineMethod("hashCode", int.class, Visibility.PUBLIC)
+                    .intercept(SuperMethodCall.INSTANCE);
+                builder = builder.defineMethod("equals", boolean.class, Visibility.PUBLIC)
+                    .withParameters(Object.class)
+                    .intercept(SuperMethodCall.INSTANCE);
+                return builder.make();
+            }
+
             public Factory(Table<Record> table, Map<String, Field> fields, List<Field<?>> all, Class type, Class entity) {
+                this(table, fields, all, type, entity, null);
+            }
+
+            /**
+             * @param precompiled the implement generated by annotation processor, null to generate with ByteBuddy.
+             */
+            public Factory(Table<Record> table, Map<String, Field> fields, List<Field<?>> all, Class type, Class entity, Class<?> precompiled) {
                 this.table = table;
                 this.fields = fields;
                 this.type = type;
@@ -288,7 +299,7 @@ public final class daos {
                 this.fieldToProperty = fields == null ? null : seq(fields)
                     .map(x -> x.map2(Field::getName))
                     .map(Tuple2::swap).toMap(Tuple2::v1, Tuple2::v2);
-                this.ctor = build();
+                this.ctor = build(precompiled);
                 this.all = all;
             }
 
@@ -312,10 +323,7 @@ public final class daos {
             }
         }
 
-        LoadingCache<Tuple2<Class, Class>, DaoFactory> cache = Caffeine.newBuilder()
-            .softValues()
-            .maximumSize(Optional.ofNullable(System.getProperty("mimic.cache")).map(Integer::parseInt).orElse(1024))
-            .build(AsmFactory::factory);
+        mimics.Registry<Tuple2<Class, Class>, DaoFactory> cache = mimics.Registry.ofPair(AsmFactory::factory);
 
         static DaoFactory factory(Tuple2<Class, Class> type) {
             var info = DaoFactory.repositoryInfoCache.get(type);
@@ -331,10 +339,7 @@ public final class daos {
 
         Mimic.Dao build(Configuration config);
 
-        LoadingCache<Tuple2<Class, Class>, DaoFactory.RepoInfo> repositoryInfoCache = Caffeine.newBuilder()
-            .softValues()
-            .maximumSize(Optional.ofNullable(System.getProperty("mimic.cache")).map(Integer::parseInt).orElse(1024))
-            .build(DaoFactory::buildInfo);
+        mimics.Registry<Tuple2<Class, Class>, DaoFactory.RepoInfo> repositoryInfoCache = mimics.Registry.ofPair(DaoFactory::buildInfo);
 
         @AllArgsConstructor(staticName = "of")
         final class RepoInfo {
@@ -423,12 +428,67 @@ public final class daos {
 
     }
 
+    interface PrecompiledFactory {
+        /**
+         * suffix of the implement class generated by annotation processor
+         */
+        String SUFFIX = "$Dao";
+
+        mimics.Registry<Tuple2<Class, Class>, DaoFactory> cache = mimics.Registry.ofPair(PrecompiledFactory::factory);
+
+        static DaoFactory factory(Tuple2<Class, Class> type) {
+            var impl = Util.fetchPrecompiled(type.v2, SUFFIX);
+            var info = DaoFactory.repositoryInfoCache.get(type);
+            if (info == null) throw new IllegalStateException("could not generate repository info for " + type);
+            if (impl != null && !matches(impl, info)) {
+                Mimic.log.warn("precompiled '{}' is outdated with {}, fallback to runtime generation, please recompile", impl, type.v2);
+                impl = null;
+            }
+            if (impl == null) {
+                if (Mimic.log.isDebugEnabled()) Mimic.log.debug("no precompiled implement for {}, fallback to runtime generation", type.v2);
+                return Util.byteBuddyPresent ? AsmFactory.cache.get(type) : DynamicFactory.cache.get(type);
+            }
+            return new AsmFactory.Factory(info.table, info.fields, info.all, info.dao, info.entity, impl);
+        }
+
+        //(precompiled,repository info)=>precompiled implements every field method of the dao
+        static boolean matches(Class<?> precompiled, DaoFactory.RepoInfo info) {
+            for (var m : info.dao.getMethods()) {
+                if (Modifier.isStatic(m.getModifiers()) || m.isDefault() || !info.fields.containsKey(m.getName())) continue;
+                try {
+                    if (Modifier.isAbstract(precompiled.getMethod(m.getName(), m.getParameterTypes()).getModifiers())) return false;
+                } catch (NoSuchMethodException e) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     final static AtomicReference<Function<Tuple2<Class, Class>, DaoFactory>> cache = new AtomicReference<>();
 
     static DaoFactory factory(Tuple2<Class<Mimic>, Class<Mimic.Dao>> type) {
         return Objects.requireNonNull(cache.get(), "not configurer DAO factory mode ").apply((Tuple2<Class, Class>) (Tuple2) type);
     }
 
+    //(dao type)=>warm up repository information, factories of entity and dao with current modes
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static void warmUp(Class dao) {
+        Class entity = null;
+        for (var t : dao.getGenericInterfaces()) {
+            if (t instanceof ParameterizedType && ((ParameterizedType) t).getRawType() == Mimic.Dao.class) {
+                var a = ((ParameterizedType) t).getActualTypeArguments()[0];
+                if (a instanceof Class) entity = (Class) a;
+            }
+        }
+        if (entity == null) throw new IllegalStateException("could not resolve entity type of " + dao);
+        if (mimics.factory.get() != null) mimics.factoryOf(entity);
+        Tuple2<Class, Class> key = tuple(entity, dao);
+        DaoFactory.repositoryInfoCache.get(key);
+        var f = cache.get();
+        if (f != null) f.apply(key);
+    }
+
     final static AtomicReference<Configuration> lastConfig = new AtomicReference<>();
 
     @SuppressWarnings("unchecked")
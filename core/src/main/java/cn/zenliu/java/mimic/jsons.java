@@ -0,0 +1,650 @@
+package cn.zenliu.java.mimic;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * JSON support of Mimic.
+ *
+ * @author Zen.Liu
+ * @since 2026-10-17
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class jsons {
+    private jsons() {
+        throw new IllegalAccessError();
+    }
+
+    //region writer
+
+    static final mimics.Registry<Class, Writer> writers = mimics.Registry.of(x -> new Writer(x, null));
+
+    static <T extends Mimic> Mimic.JsonWriter<T> writer(Class<T> type) {
+        return writers.get(type);
+    }
+
+    /**
+     * append a value in storage form.
+     */
+    @FunctionalInterface
+    interface Emitter {
+        void emit(Appendable out, Object v) throws IOException;
+    }
+
+    static final class Writer<T extends Mimic> implements Mimic.JsonWriter<T> {
+        final Class<T> type;
+        final mimics.PropertiesInfo info;
+        //emitted properties of all slots
+        final boolean[] mask;
+        //emitted properties in slot order
+        final mimics.PropertyInfo[] slots;
+        //escaped names with quotes and colon
+        final String[] names;
+        final Emitter[] emitters;
+
+        Writer(Class<T> type, boolean[] mask) {
+            if (!Mimic.class.isAssignableFrom(type)) throw new IllegalStateException(type + " is not a Mimic");
+            var mi = mimics.Factory.infoCache.get(type);
+            if (mi == null) throw new IllegalStateException("could not generate mimic info from " + type);
+            this.type = type;
+            this.info = mi.getPropertyInfo();
+            var all = info.slots();
+            if (mask == null) {
+                mask = new boolean[all.length];
+                Arrays.fill(mask, true);
+            }
+            this.mask = mask;
+            var n = 0;
+            for (var b : mask) if (b) n++;
+            this.slots = new mimics.PropertyInfo[n];
+            this.names = new String[n];
+            this.emitters = new Emitter[n];
+            var i = 0;
+            for (var pi : all) {
+                if (!mask[pi.ordinal]) continue;
+                slots[i] = pi;
+                var b = new StringBuilder(pi.property.length() + 3);
+                try {
+                    string(b, pi.property);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                names[i] = b.append(':').toString();
+                emitters[i] = emitter(pi);
+                i++;
+            }
+        }
+
+        @Override
+        public @NotNull Class<T> type() {
+            return type;
+        }
+
+        @Override
+        public @NotNull Mimic.JsonWriter<T> including(@NotNull String... properties) {
+            var m = new boolean[mask.length];
+            for (var p : properties) {
+                var o = ordinal(p);
+                m[o] = mask[o];
+            }
+            return new Writer<>(type, m);
+        }
+
+        @Override
+        public @NotNull Mimic.JsonWriter<T> excluding(@NotNull String... properties) {
+            var m = mask.clone();
+            for (var p : properties) m[ordinal(p)] = false;
+            return new Writer<>(type, m);
+        }
+
+        int ordinal(String property) {
+            var pi = info.get(property);
+            if (pi == null) throw new IllegalArgumentException("'" + property + "' is not a property of " + type.getName());
+            return pi.ordinal;
+        }
+
+        @Override
+        public void write(@NotNull T value, @NotNull Appendable out) throws IOException {
+            var read = codecs.reader(value);
+            out.append('{');
+            var first = true;
+            for (int i = 0; i < slots.length; i++) {
+                var v = read.apply(slots[i]);
+                if (v == null) continue;
+                if (!first) out.append(',');
+                first = false;
+                out.append(names[i]);
+                emitters[i].emit(out, v);
+            }
+            out.append('}');
+        }
+
+        @Override
+        public void writeAll(@NotNull Iterable<? extends T> values, @NotNull Appendable out) throws IOException {
+            out.append('[');
+            var first = true;
+            for (var v : values) {
+                if (!first) out.append(',');
+                first = false;
+                if (v == null) out.append("null");
+                else write(v, out);
+            }
+            out.append(']');
+        }
+
+        @Override
+        public @NotNull String toJson(@NotNull T value) {
+            var b = new StringBuilder(16 * (slots.length + 1));
+            try {
+                write(value, b);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return b.toString();
+        }
+
+        @Override
+        public @NotNull String toJsonArray(@NotNull Iterable<? extends T> values) {
+            var b = new StringBuilder(64);
+            try {
+                writeAll(values, b);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return b.toString();
+        }
+    }
+
+    //(property)=>emitter of value in getter form
+    static Emitter emitter(mimics.PropertyInfo pi) {
+        if (pi.getterConv instanceof mimics.Nested) {
+            var n = (mimics.Nested) pi.getterConv;
+            var type = n.type;
+            //writer is resolved on use for recursive types
+            Emitter element = (out, v) -> {
+                if (v instanceof Mimic) writers.get(type).write((Mimic) v, out);
+                else value(out, v);
+            };
+            if (n.type == n.prop) return element;
+            return (out, v) -> {
+                out.append('[');
+                var first = true;
+                for (var x : v instanceof Collection ? (Collection<?>) v : Arrays.asList((Object[]) v)) {
+                    if (!first) out.append(',');
+                    first = false;
+                    if (x == null) out.append("null");
+                    else element.emit(out, x);
+                }
+                out.append(']');
+            };
+        }
+        if (pi.getterConv != null) return (out, v) -> value(out, pi.invokeSetter(v));
+        if (pi.boxed == String.class) return (out, v) -> string(out, (String) v);
+        if (pi.boxed == Long.class || pi.boxed == Integer.class || pi.boxed == Short.class || pi.boxed == Byte.class)
+            return (out, v) -> out.append(v.toString());
+        if (pi.boxed == Boolean.class) return (out, v) -> out.append((Boolean) v ? "true" : "false");
+        return jsons::value;
+    }
+
+    //append any value in storage form
+    static void value(Appendable out, Object v) throws IOException {
+        if (v == null) {
+            out.append("null");
+        } else if (v instanceof String) {
+            string(out, (String) v);
+        } else if (v instanceof Double || v instanceof Float) {
+            var d = ((Number) v).doubleValue();
+            out.append(Double.isNaN(d) || Double.isInfinite(d) ? "null" : v.toString());
+        } else if (v instanceof Number || v instanceof Boolean) {
+            out.append(v.toString());
+        } else if (v instanceof Enum) {
+            string(out, ((Enum) v).name());
+        } else if (v instanceof Mimic) {
+            value(out, ((Mimic) v).underlyingMap());
+        } else if (v instanceof Map) {
+            out.append('{');
+            var first = true;
+            for (var e : ((Map<?, ?>) v).entrySet()) {
+                if (e.getValue() == null) continue;
+                if (!first) out.append(',');
+                first = false;
+                string(out, String.valueOf(e.getKey()));
+                out.append(':');
+                value(out, e.getValue());
+            }
+            out.append('}');
+        } else if (v instanceof Iterable) {
+            out.append('[');
+            var first = true;
+            for (var x : (Iterable<?>) v) {
+                if (!first) out.append(',');
+                first = false;
+                value(out, x);
+            }
+            out.append(']');
+        } else if (v instanceof byte[]) {
+            string(out, Base64.getEncoder().encodeToString((byte[]) v));
+        } else if (v.getClass().isArray()) {
+            out.append('[');
+            for (int i = 0, n = Array.getLength(v); i < n; i++) {
+                if (i > 0) out.append(',');
+                value(out, Array.get(v, i));
+            }
+            out.append(']');
+        } else {
+            string(out, v.toString());
+        }
+    }
+
+    static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    //append quoted and escaped string, unescaped runs are appended at once
+    static void string(Appendable out, String s) throws IOException {
+        out.append('"');
+        var start = 0;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            var c = s.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') continue;
+            if (start < i) out.append(s, start, i);
+            start = i + 1;
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                case '\b':
+                    out.append("\\b");
+                    break;
+                case '\f':
+                    out.append("\\f");
+                    break;
+                default:
+                    out.append("\\u").append(HEX[c >> 12 & 0xF]).append(HEX[c >> 8 & 0xF]).append(HEX[c >> 4 & 0xF]).append(HEX[c & 0xF]);
+            }
+        }
+        if (start < s.length()) out.append(s, start, s.length());
+        out.append('"');
+    }
+    //endregion
+
+    //region reader
+
+    static final mimics.Registry<Class, Reader> readers = mimics.Registry.of(Reader::new);
+
+    static <T extends Mimic> Mimic.JsonReader<T> reader(Class<T> type) {
+        return readers.get(type);
+    }
+
+    /**
+     * parse a non-null value in getter form.
+     */
+    @FunctionalInterface
+    interface Parser {
+        Object parse(Lexer in);
+    }
+
+    static final class Reader<T extends Mimic> implements Mimic.JsonReader<T> {
+        final Class<T> type;
+        final mimics.PropertiesInfo info;
+        //parsers indexed by slot
+        final Parser[] parsers;
+
+        Reader(Class<T> type) {
+            if (!Mimic.class.isAssignableFrom(type)) throw new IllegalStateException(type + " is not a Mimic");
+            var mi = mimics.Factory.infoCache.get(type);
+            if (mi == null) throw new IllegalStateException("could not generate mimic info from " + type);
+            this.type = type;
+            this.info = mi.getPropertyInfo();
+            var slots = info.slots();
+            this.parsers = new Parser[slots.length];
+            for (var pi : slots) parsers[pi.ordinal] = parser(pi);
+        }
+
+        @Override
+        public @NotNull Class<T> type() {
+            return type;
+        }
+
+        //parse an object into values indexed by slot, then build the instance from the values
+        T parse(Lexer in) {
+            var values = new Object[parsers.length];
+            in.expect('{');
+            if (!in.consume('}')) {
+                do {
+                    var name = in.string();
+                    in.expect(':');
+                    var pi = info.get(name);
+                    if (pi == null) {
+                        in.value();
+                        continue;
+                    }
+                    var v = in.isNull() ? null : parsers[pi.ordinal].parse(in);
+                    pi.validateSetter(v);
+                    values[pi.ordinal] = v;
+                } while (in.consume(','));
+                in.expect('}');
+            }
+            return (T) mimics.factoryOf(type).buildSlots(values);
+        }
+
+        @Override
+        public @NotNull T read(@NotNull CharSequence json) {
+            var in = new Lexer(json);
+            var v = parse(in);
+            in.end();
+            return v;
+        }
+
+        @Override
+        public @NotNull List<T> readAll(@NotNull CharSequence json) {
+            var in = new Lexer(json);
+            var list = new ArrayList<T>();
+            in.expect('[');
+            if (!in.consume(']')) {
+                do list.add(in.isNull() ? null : parse(in));
+                while (in.consume(','));
+                in.expect(']');
+            }
+            in.end();
+            return list;
+        }
+
+        @Override
+        public @NotNull T read(@NotNull java.io.Reader in) throws IOException {
+            var b = new StringBuilder(256);
+            var buf = new char[4096];
+            for (int n; (n = in.read(buf)) != -1; ) b.append(buf, 0, n);
+            return read(b);
+        }
+    }
+
+    //(property)=>parser of value converted to the property type
+    static Parser parser(mimics.PropertyInfo pi) {
+        if (pi.getterConv instanceof mimics.Nested) {
+            var n = (mimics.Nested) pi.getterConv;
+            var type = n.type;
+            //reader is resolved on use for recursive types
+            Parser element = in -> in.isNull() ? null : readers.get(type).parse(in);
+            if (n.type == n.prop) return element;
+            return in -> {
+                var list = new ArrayList<Object>();
+                in.expect('[');
+                if (!in.consume(']')) {
+                    do list.add(element.parse(in));
+                    while (in.consume(','));
+                    in.expect(']');
+                }
+                if (n.prop.isArray()) return list.toArray((Object[]) Array.newInstance(type, list.size()));
+                if (Set.class.isAssignableFrom(n.prop)) return new HashSet<>(list);
+                return list;
+            };
+        }
+        //value in storage form, such as AsString
+        if (pi.getterConv != null) return in -> pi.invokeGetter(in.value());
+        var t = pi.boxed;
+        if (t == String.class) return Lexer::string;
+        if (t == Long.class) return Lexer::longValue;
+        if (t == Integer.class) return in -> (int) in.longValue(pi.property, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        if (t == Short.class) return in -> (short) in.longValue(pi.property, Short.MIN_VALUE, Short.MAX_VALUE);
+        if (t == Byte.class) return in -> (byte) in.longValue(pi.property, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        if (t == Double.class) return in -> Double.parseDouble(in.number());
+        if (t == Float.class) return in -> Float.parseFloat(in.number());
+        if (t == Boolean.class) return Lexer::bool;
+        if (t == Character.class) return in -> {
+            var s = in.string();
+            if (s.length() != 1) throw in.error("expect a single character of '" + pi.property + "'");
+            return s.charAt(0);
+        };
+        if (t == BigDecimal.class) return in -> new BigDecimal(in.peek() == '"' ? in.string() : in.number());
+        if (t == BigInteger.class) return in -> new BigInteger(in.peek() == '"' ? in.string() : in.number());
+        if (t == Instant.class) return in -> {
+            if (in.peek() != '"') return Instant.ofEpochMilli(in.longValue());
+            var s = in.string();
+            try {
+                return Instant.parse(s);
+            } catch (DateTimeParseException e) {
+                throw (IllegalArgumentException) in.error("invalid instant '" + s + "' of '" + pi.property + "'").initCause(e);
+            }
+        };
+        if (t == UUID.class) return in -> UUID.fromString(in.string());
+        if (t == byte[].class) return in -> Base64.getDecoder().decode(in.string());
+        if (t.isEnum()) return in -> Enum.valueOf(t, in.string());
+        return in -> pi.coerce(in.value());
+    }
+
+    /**
+     * pull lexer over a {@link CharSequence}, strings without escapes are sliced from the input.
+     */
+    static final class Lexer {
+        final CharSequence s;
+        final int n;
+        int i;
+
+        Lexer(CharSequence s) {
+            this.s = s;
+            this.n = s.length();
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at " + i);
+        }
+
+        void ws() {
+            while (i < n) {
+                var c = s.charAt(i);
+                if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return;
+                i++;
+            }
+        }
+
+        char peek() {
+            ws();
+            if (i >= n) throw error("unexpected end");
+            return s.charAt(i);
+        }
+
+        void expect(char c) {
+            if (peek() != c) throw error("expect '" + c + "'");
+            i++;
+        }
+
+        boolean consume(char c) {
+            if (peek() != c) return false;
+            i++;
+            return true;
+        }
+
+        void end() {
+            ws();
+            if (i < n) throw error("unexpected content");
+        }
+
+        void literal(String w) {
+            var l = w.length();
+            if (i + l > n) throw error("expect " + w);
+            for (int k = 0; k < l; k++) if (s.charAt(i + k) != w.charAt(k)) throw error("expect " + w);
+            i += l;
+        }
+
+        boolean isNull() {
+            if (peek() != 'n') return false;
+            literal("null");
+            return true;
+        }
+
+        boolean bool() {
+            var c = peek();
+            if (c == 't') {
+                literal("true");
+                return true;
+            } else if (c == 'f') {
+                literal("false");
+                return false;
+            }
+            throw error("expect boolean");
+        }
+
+        String number() {
+            ws();
+            var start = i;
+            while (i < n) {
+                var c = s.charAt(i);
+                if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') i++;
+                else break;
+            }
+            if (start == i) throw error("expect number");
+            return s.subSequence(start, i).toString();
+        }
+
+        long longValue() {
+            var t = number();
+            try {
+                return Long.parseLong(t);
+            } catch (NumberFormatException e) {
+                try {
+                    return new BigDecimal(t).longValueExact();
+                } catch (ArithmeticException x) {
+                    throw error("expect integer but " + t);
+                }
+            }
+        }
+
+        //integer of the property in range
+        long longValue(String property, long min, long max) {
+            var v = longValue();
+            if (v < min || v > max) throw error("value " + v + " of '" + property + "' is out of range [" + min + "," + max + "]");
+            return v;
+        }
+
+        String string() {
+            expect('"');
+            var start = i;
+            StringBuilder b = null;
+            while (i < n) {
+                var c = s.charAt(i);
+                if (c == '"') {
+                    var v = b == null ? s.subSequence(start, i).toString() : b.append(s, start, i).toString();
+                    i++;
+                    return v;
+                } else if (c == '\\') {
+                    if (b == null) b = new StringBuilder(i - start + 16);
+                    b.append(s, start, i);
+                    if (++i >= n) break;
+                    var e = s.charAt(i++);
+                    switch (e) {
+                        case '"':
+                        case '\\':
+                        case '/':
+                            b.append(e);
+                            break;
+                        case 'b':
+                            b.append('\b');
+                            break;
+                        case 'f':
+                            b.append('\f');
+                            break;
+                        case 'n':
+                            b.append('\n');
+                            break;
+                        case 'r':
+                            b.append('\r');
+                            break;
+                        case 't':
+                            b.append('\t');
+                            break;
+                        case 'u': {
+                            if (i + 4 > n) throw error("invalid unicode escape");
+                            var u = 0;
+                            for (int k = 0; k < 4; k++) {
+                                var d = Character.digit(s.charAt(i++), 16);
+                                if (d < 0) throw error("invalid unicode escape");
+                                u = u << 4 | d;
+                            }
+                            b.append((char) u);
+                            break;
+                        }
+                        default:
+                            throw error("invalid escape '" + e + "'");
+                    }
+                    start = i;
+                } else if (c < 0x20) {
+                    throw error("control character in string");
+                } else i++;
+            }
+            throw error("unterminated string");
+        }
+
+        //(lexer)=>any value: object as map, array as list, integral number as long if fits else BigDecimal
+        Object value() {
+            var c = peek();
+            switch (c) {
+                case '{': {
+                    i++;
+                    var m = new LinkedHashMap<String, Object>();
+                    if (!consume('}')) {
+                        do {
+                            var k = string();
+                            expect(':');
+                            m.put(k, value());
+                        } while (consume(','));
+                        expect('}');
+                    }
+                    return m;
+                }
+                case '[': {
+                    i++;
+                    var l = new ArrayList<Object>();
+                    if (!consume(']')) {
+                        do l.add(value());
+                        while (consume(','));
+                        expect(']');
+                    }
+                    return l;
+                }
+                case '"':
+                    return string();
+                case 't':
+                case 'f':
+                    return bool();
+                case 'n':
+                    literal("null");
+                    return null;
+                default: {
+                    var t = number();
+                    if (t.indexOf('.') < 0 && t.indexOf('e') < 0 && t.indexOf('E') < 0) {
+                        try {
+                            return Long.parseLong(t);
+                        } catch (NumberFormatException ignore) {
+                            //too large for long
+                        }
+                    }
+                    try {
+                        return new BigDecimal(t);
+                    } catch (NumberFormatException e) {
+                        throw error("invalid number " + t);
+                    }
+                }
+            }
+        }
+    }
+    //endregion
+}
@@ -0,0 +1,2802 @@
+package cn.zenliu.java.mimic;
+
+import cn.zenliu.units.reflect.Invoker;
+import cn.zenliu.units.reflect.Ref;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.AllArgsConstructor;
+import lombok.SneakyThrows;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.*;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import org.jetbrains.annotations.NotNull;
+import org.jooq.lambda.Seq;
+import org.jooq.lambda.tuple.Tuple2;
+import org.jooq.lambda.tuple.Tuple3;
+import org.jooq.lambda.tuple.Tuple4;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.*;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.*;
+
+import static org.jooq.lambda.Seq.seq;
+import static org.jooq.lambda.tuple.Tuple.tuple;
+
+/**
+ * @author Zen.Liu
+ * @since 2023-09-19
+ */
+@SuppressWarnings("rawtypes")
+public final class mimics {
+    static {
+        System.setProperty("org.jooq.no-tips", "false");
+    }
+
+    private mimics() {
+        throw new IllegalAccessError();
+    }
+    //region types and tools
+
+    //region Types
+    @AllArgsConstructor(staticName = "of")
+    final static class MimicInfo {
+        final Supplier<Map<String, Object>> mapBuilder;
+        final NamingStrategy strategy;
+        final int concurrentMode;
+        final Validation validation;
+        final List<Method> defaultMethods;
+        final Map<String, Tuple3<Method, Method, PropertyInfo>> propertyInfo;
+        final Map<String, Object> defaultValues;
+
+        PropertiesInfo getPropertyInfo() {
+            return PropertiesInfo.of(seq(propertyInfo)
+                .map(x -> x.map2(v -> v.v3))
+                .toMap(Tuple2::v1, Tuple2::v2));
+        }
+    }
+
+    final static class PropertyInfo {
+        final Function<Object, Object> getterConv;
+        final Function<Object, Object> setterConv;
+        final BiConsumer<String, Object> setterValidate;
+        final String property;
+        final Class type;
+        /**
+         * index of property in the type, properties are ordered by name.
+         */
+        final int ordinal;
+        /**
+         * wrapper of primitive type, or the type itself.
+         */
+        final Class boxed;
+        /**
+         * conversion of value to primitive type, null if not a primitive property.
+         */
+        final Function<Object, Object> coercion;
+        /**
+         * value is converted by getter, such as nested Mimic or {@link Mimic.Dao.AsString}, converted value could be cached until next set.
+         */
+        final boolean cached;
+        /**
+         * default value of primitive type, null for others.
+         */
+        final Object zero;
+
+        PropertyInfo(String property, int ordinal, Tuple4<Function<Object, Object>, Function<Object, Object>, BiConsumer<String, Object>, Class> info) {
+            this.getterConv = info.v1;
+            this.setterConv = info.v2;
+            this.setterValidate = info.v3;
+            this.property = property;
+            this.ordinal = ordinal;
+            this.type = info.v4;
+            this.boxed = MethodType.methodType(type).wrap().returnType();
+            this.coercion = coercion(type);
+            this.cached = getterConv != null;
+            this.zero = type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+        }
+
+        //built-in conversions are called on their final classes, so the interface call site only sees custom ones
+        Object invokeSetter(Object v) {
+            var c = setterConv;
+            if (c == null) return v;
+            if (c instanceof Text) return ((Text) c).apply(v);
+            return c.apply(v);
+        }
+
+        Object invokeGetter(Object v) {
+            var c = getterConv;
+            if (c == null) return coerce(v);
+            if (c instanceof Text) return ((Text) c).apply(v);
+            if (c instanceof Nested) return ((Nested) c).apply(v);
+            return coerce(c.apply(v));
+        }
+
+        //coerce value to the primitive type, values already in wrapper type are returned directly
+        Object coerce(Object x) {
+            if (x == null || coercion == null || x.getClass() == boxed) return x;
+            return coercion.apply(x);
+        }
+
+        //(primitive type)=>conversion
+        @SuppressWarnings("RedundantCast")
+        static Function<Object, Object> coercion(Class<?> type) {
+            if (!type.isPrimitive()) return null;
+            final Function<Number, Object> fn;
+            if (boolean.class == type) {
+                return x -> {
+                    if (x instanceof Boolean) return x;
+                    throw new IllegalStateException("unknown primitive type conversion: " + x.getClass() + " to " + type);
+                };
+            } else if (char.class == type) {
+                fn = x -> (char) x.byteValue();
+            } else if (byte.class == type) {
+                fn = Number::byteValue;
+            } else if (short.class == type) {
+                fn = Number::shortValue;
+            } else if (int.class == type) {
+                fn = Number::intValue;
+            } else if (long.class == type) {
+                fn = Number::longValue;
+            } else if (double.class == type) {
+                fn = Number::doubleValue;
+            } else if (float.class == type) {
+                fn = Number::floatValue;
+            } else {
+                return null;
+            }
+            return x -> {
+                if (x instanceof Number) return fn.apply((Number) x);
+                throw new IllegalStateException("unknown primitive type conversion: " + x.getClass() + " to " + type);
+            };
+        }
+
+        void validateSetter(Object v) {
+            if (setterValidate != null) setterValidate.accept(property, v);
+        }
+    }
+
+    public interface PropertiesInfo extends Map<String, PropertyInfo> {
+        /**
+         * @return property names indexed by {@link PropertyInfo#ordinal}
+         */
+        String[] names();
+
+        /**
+         * @return properties indexed by {@link PropertyInfo#ordinal}
+         */
+        PropertyInfo[] slots();
+
+        final class impl extends HashMap<String, PropertyInfo> implements PropertiesInfo {
+            private String[] names;
+            private PropertyInfo[] slots;
+
+            @Override
+            public String[] names() {
+                var n = names;
+                if (n == null || n.length != size()) {
+                    n = new String[size()];
+                    for (var e : entrySet()) n[e.getValue().ordinal] = e.getKey();
+                    names = n;
+                }
+                return n;
+            }
+
+            @Override
+            public PropertyInfo[] slots() {
+                var n = slots;
+                if (n == null || n.length != size()) {
+                    n = new PropertyInfo[size()];
+                    for (var v : values()) n[v.ordinal] = v;
+                    slots = n;
+                }
+                return n;
+            }
+
+            impl(int initialCapacity, float loadFactor) {
+                super(initialCapacity, loadFactor);
+            }
+
+            impl(int initialCapacity) {
+                super(initialCapacity);
+            }
+
+            impl() {
+                super();
+            }
+
+            impl(Map<? extends String, ? extends PropertyInfo> m) {
+                super(m);
+            }
+        }
+
+        static PropertiesInfo of(int initialCapacity, float loadFactor) {
+            return new PropertiesInfo.impl(initialCapacity, loadFactor);
+        }
+
+        static PropertiesInfo of(int initialCapacity) {
+            return new PropertiesInfo.impl(initialCapacity);
+        }
+
+        static PropertiesInfo of(Map<? extends String, ? extends PropertyInfo> m) {
+            return new PropertiesInfo.impl(m);
+        }
+    }
+
+    public interface Validator extends Consumer<Map<String, Object>> {
+    }
+
+    /**
+     * validation of a type, validators of each property are called directly with the value in getter form.
+     * <p>nested Mimic are validated in place by validators of their properties.
+     */
+    static final class Validation implements Validator {
+        //properties have validators, in slot order
+        final PropertyInfo[] slots;
+
+        Validation(PropertyInfo[] slots) {
+            this.slots = slots;
+        }
+
+        //(properties)=>validation, null if no property has validators
+        //converted properties ({@link Mimic.Dao.AsString} or {@link Mimic.Many}) are only validated by setters, nested Mimic are validated
+        static Validation of(Collection<PropertyInfo> info) {
+            var slots = seq(info).filter(x -> x.setterValidate != null && (x.getterConv == null || x.getterConv instanceof Nested && ((Nested) x.getterConv).type == ((Nested) x.getterConv).prop))
+                .sorted(x -> x.ordinal).toArray(PropertyInfo[]::new);
+            return slots.length == 0 ? null : new Validation(slots);
+        }
+
+        //(reader of value in getter form)=>validate all properties
+        void check(Function<PropertyInfo, Object> read) {
+            for (var pi : slots) pi.setterValidate.accept(pi.property, read.apply(pi));
+        }
+
+        //(changes,reader of value in getter form)=>validate changed properties
+        void check(Changes changes, Function<PropertyInfo, Object> read) {
+            for (var pi : slots) {
+                if (changes.marked(pi.ordinal)) pi.setterValidate.accept(pi.property, read.apply(pi));
+            }
+        }
+
+        //validate values in storage form
+        @Override
+        public void accept(Map<String, Object> map) {
+            check(pi -> {
+                var x = map.get(pi.property);
+                return x == null ? null : pi.invokeGetter(x);
+            });
+        }
+    }
+
+    /**
+     * changed properties tracked by {@link PropertyInfo#ordinal} in a bitmask, the {@link Set} api is a view on it.
+     */
+    static class Changes extends AbstractSet<String> {
+        final PropertiesInfo info;
+        final String[] names;
+        //ordinal 0 to 63
+        long low;
+        //ordinal from 64, null if not more than 64 properties
+        final long[] high;
+
+        Changes(PropertiesInfo info) {
+            this.info = info;
+            this.names = info.names();
+            this.high = names.length > 64 ? new long[(names.length - 1) >>> 6] : null;
+        }
+
+        //(properties,concurrent mode)=>changes, atomic for any concurrent mode
+        static Changes of(PropertiesInfo info, int concurrentMode) {
+            return concurrentMode == 0 ? new Changes(info) : new Atomic(info);
+        }
+
+        boolean mark(int ordinal) {
+            if (ordinal < 64) {
+                var old = low;
+                low |= 1L << ordinal;
+                return old != low;
+            }
+            var i = (ordinal >>> 6) - 1;
+            var old = high[i];
+            high[i] |= 1L << ordinal;
+            return old != high[i];
+        }
+
+        boolean unmark(int ordinal) {
+            if (ordinal < 64) {
+                var old = low;
+                low &= ~(1L << ordinal);
+                return old != low;
+            }
+            var i = (ordinal >>> 6) - 1;
+            var old = high[i];
+            high[i] &= ~(1L << ordinal);
+            return old != high[i];
+        }
+
+        boolean marked(int ordinal) {
+            return (word(ordinal >>> 6) & (1L << ordinal)) != 0;
+        }
+
+        final int words() {
+            return high == null ? 1 : high.length + 1;
+        }
+
+        long word(int i) {
+            return i == 0 ? low : high[i - 1];
+        }
+
+        /**
+         * @return next marked ordinal from (inclusive), -1 if none.
+         */
+        int next(int from) {
+            var w = from >>> 6;
+            if (w >= words()) return -1;
+            var word = word(w) & (-1L << from);
+            while (true) {
+                if (word != 0) return (w << 6) + Long.numberOfTrailingZeros(word);
+                if (++w >= words()) return -1;
+                word = word(w);
+            }
+        }
+
+        void forEachMarked(IntConsumer action) {
+            for (int i = next(0); i >= 0; i = next(i + 1)) action.accept(i);
+        }
+
+        @Override
+        public boolean add(String p) {
+            var pi = info.get(p);
+            if (pi == null) throw new IllegalArgumentException("'" + p + "' is not a property");
+            return mark(pi.ordinal);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            var pi = o instanceof String ? info.get(o) : null;
+            return pi != null && marked(pi.ordinal);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            var pi = o instanceof String ? info.get(o) : null;
+            return pi != null && unmark(pi.ordinal);
+        }
+
+        @Override
+        public void clear() {
+            low = 0;
+            if (high != null) Arrays.fill(high, 0L);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            for (int i = 0; i < words(); i++) if (word(i) != 0) return false;
+            return true;
+        }
+
+        @Override
+        public int size() {
+            var n = 0;
+            for (int i = 0; i < words(); i++) n += Long.bitCount(word(i));
+            return n;
+        }
+
+        @Override
+        public @NotNull Iterator<String> iterator() {
+            return new Iterator<>() {
+                int cursor = Changes.this.next(0);
+                int last = -1;
+
+                @Override
+                public boolean hasNext() {
+                    return cursor >= 0;
+                }
+
+                @Override
+                public String next() {
+                    if (cursor < 0) throw new NoSuchElementException();
+                    last = cursor;
+                    cursor = Changes.this.next(cursor + 1);
+                    return names[last];
+                }
+
+                @Override
+                public void remove() {
+                    if (last < 0) throw new IllegalStateException();
+                    unmark(last);
+                    last = -1;
+                }
+            };
+        }
+
+        /**
+         * lock free changes, the words are updated atomically via {@link VarHandle}.
+         */
+        static final class Atomic extends Changes {
+            static final VarHandle LOW;
+            static final VarHandle HIGH = MethodHandles.arrayElementVarHandle(long[].class);
+
+            static {
+                try {
+                    LOW = MethodHandles.lookup().findVarHandle(Changes.class, "low", long.class);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            Atomic(PropertiesInfo info) {
+                super(info);
+            }
+
+            @Override
+            boolean mark(int ordinal) {
+                var mask = 1L << ordinal;
+                var old = ordinal < 64
+                    ? (long) LOW.getAndBitwiseOr(this, mask)
+                    : (long) HIGH.getAndBitwiseOr(high, (ordinal >>> 6) - 1, mask);
+                return (old & mask) == 0;
+            }
+
+            @Override
+            boolean unmark(int ordinal) {
+                var mask = 1L << ordinal;
+                var old = ordinal < 64
+                    ? (long) LOW.getAndBitwiseAnd(this, ~mask)
+                    : (long) HIGH.getAndBitwiseAnd(high, (ordinal >>> 6) - 1, ~mask);
+                return (old & mask) != 0;
+            }
+
+            @Override
+            long word(int i) {
+                return i == 0 ? (long) LOW.getVolatile(this) : (long) HIGH.getVolatile(high, i - 1);
+            }
+
+            @Override
+            public void clear() {
+                LOW.setVolatile(this, 0L);
+                if (high != null) for (int i = 0; i < high.length; i++) HIGH.setVolatile(high, i, 0L);
+            }
+        }
+    }
+
+    /**
+     * registry of values computed once for a type.
+     * <p>by default it's backed by {@link ClassValue}, values are never evicted and live as long as the type.
+     * <p>with system property {@code mimic.registry} as {@code caffeine}, a bounded Caffeine cache with soft values is used,
+     * the bound is set by system property {@code mimic.cache}.
+     * <p>without {@code mimic.registry}, Caffeine is used when {@code mimic.hiddenClass} is true,
+     * as a {@link ClassValue} pins the factory and its hidden class until the type is unloaded.
+     */
+    @FunctionalInterface
+    interface Registry<K, V> {
+        boolean useCaffeine = Optional.ofNullable(System.getProperty("mimic.registry"))
+            .map("caffeine"::equalsIgnoreCase)
+            .orElseGet(() -> Boolean.getBoolean("mimic.hiddenClass"));
+
+        V get(K key);
+
+        //(loader)=>registry of type
+        @SuppressWarnings("rawtypes")
+        static <V> Registry<Class, V> of(Function<Class, V> loader) {
+            if (useCaffeine) return caffeine(loader);
+            var values = new ClassValue<Lazy<V>>() {
+                @Override
+                protected Lazy<V> computeValue(Class<?> type) {
+                    return new Lazy<>(() -> loader.apply(type));
+                }
+            };
+            return k -> values.get(k).get();
+        }
+
+        //(loader)=>registry of type pair, the second type is the primary
+        @SuppressWarnings("rawtypes")
+        static <V> Registry<Tuple2<Class, Class>, V> ofPair(Function<Tuple2<Class, Class>, V> loader) {
+            if (useCaffeine) return caffeine(loader);
+            var values = new ClassValue<Map<Class, Lazy<V>>>() {
+                @Override
+                protected Map<Class, Lazy<V>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+            return k -> values.get(k.v2).computeIfAbsent(k.v1, x -> new Lazy<>(() -> loader.apply(k))).get();
+        }
+
+        static <K, V> Registry<K, V> caffeine(Function<K, V> loader) {
+            LoadingCache<K, V> cache = Caffeine.newBuilder()
+                .softValues()
+                .maximumSize(Optional.ofNullable(System.getProperty("mimic.cache")).map(Integer::parseInt).orElse(1024))
+                .build(loader::apply);
+            return cache::get;
+        }
+    }
+
+    /**
+     * value computed once, a failed computation is retried on next access.
+     */
+    final static class Lazy<V> {
+        private Supplier<V> supplier;
+        private volatile V value;
+
+        Lazy(Supplier<V> supplier) {
+            this.supplier = supplier;
+        }
+
+        V get() {
+            var v = value;
+            if (v != null) return v;
+            synchronized (this) {
+                if (value == null) {
+                    value = supplier.get();
+                    if (value != null) supplier = null;
+                }
+                return value;
+            }
+        }
+    }
+
+    @AllArgsConstructor(staticName = "of")
+    final static class NamingStrategy {
+        final Predicate<Method> getPred;
+        final Predicate<Method> setPred;
+        final Function<Method, String> getName;
+        final Function<Method, String> setName;
+        final Function<String, String> extract;
+    }
+    //endregion
+
+
+    //FieldExtract,getPredicate,setPredicate,getNameExtract,setNameExtract
+    static NamingStrategy nameStrategy(Class<?> cls) {
+        final Predicate<Method> getPred;
+        final Predicate<Method> setPred;
+        final Function<Method, String> setName;
+        final Function<Method, String> getName;
+        final Function<String, String> extract;
+        {
+            var ann = cls.getAnnotationsByType(Mimic.JavaBean.class);
+            if (ann.length == 0) {
+                getPred = Util.Predication.fluentGetter;
+                setPred = Util.Predication.fluentSetter;
+                getName = Util.Predication.fluentGetterName;
+                setName = Util.Predication.fluentSetterName;
+                extract = Function.identity();
+            } else {
+                var an = ann[0];
+                if (an.value()) {
+                    getPred = Util.Predication.mixGetter;
+                    setPred = Util.Predication.mixSetter;
+                    getName = Util.Predication.mixGetterName;
+                    setName = Util.Predication.mixSetterName;
+                } else {
+                    getPred = Util.Predication.beanGetter;
+                    setPred = Util.Predication.beanSetter;
+                    getName = Util.Predication.beanGetterName;
+                    setName = Util.Predication.beanSetterName;
+                }
+                extract = Util::methodPropertyNameExtract;
+            }
+        }
+        return NamingStrategy.of(getPred, setPred, getName, setName, extract);
+    }
+
+    //(method,nameExtractor)->(propertyName,(GetterProcessor,SetterProcessor,ParamValidate,propertyType))
+    @SuppressWarnings({"ConstantConditions", "unchecked"})
+    static Tuple2<String, Tuple4<
+        Function<Object, Object>,
+        Function<Object, Object>,
+        BiConsumer<String, Object>, Class>>
+    compute(Method m, Function<Method, String> n) {
+        var type = m.getDeclaringClass();
+        final List<Class<?>> faces = new ArrayList<>(Arrays.asList(type.getInterfaces()));
+        faces.add(0, type);
+        var name = n.apply(m);
+        var ret = m.getReturnType();
+        var param = m.getParameterCount() == 1 ? m.getParameters()[0].getType() : null;
+        final Class prop = param == null ? ret : param;
+        Tuple2<Function<Object, Object>, Function<Object, Object>> processor = null;
+        //property validate, also used by instance validate
+        BiConsumer<String, Object> pre = null;
+        //Array Annotation
+        {
+            var ann = Util.collectAnnotations(m, Mimic.Many.class, faces);
+            if (!ann.isEmpty()) {
+                var typ = ann.get(0).value();
+                processor = tuple(
+                    new Nested(typ, prop),
+                    v -> {
+                        if (v instanceof LazyList) {
+                            return ((LazyList) v).storage();
+                        } else if (v instanceof List && !((List<?>) v).isEmpty()) {
+                            return Seq.seq((List<Mimic>) v).map(Mimic::underlyingMap).toList();
+                        } else if (v instanceof Set && !((Set<?>) v).isEmpty()) {
+                            return Seq.seq((Set<Mimic>) v).map(Mimic::underlyingMap).toSet();
+                        } else if (v.getClass().isArray()) {
+                            return Seq.of((Mimic[]) v).map(Mimic::underlyingMap).toList();
+                        } else {
+                            return v;
+                        }
+                    }
+                );
+            }
+        }
+        //AsString Annotation
+        if (processor == null) {
+            var ann = m.getAnnotationsByType(Mimic.Dao.AsString.class);
+            if (ann.length != 0) {
+                var v = ann[0];
+                if (v.value() == Void.class) {
+                    processor = Text.of(prop);
+                } else {
+                    processor = extract(v);
+                }
+            }
+        }
+
+        //common Annotation Validate
+        {
+            var exists = new HashSet<Tuple2<Class, String>>();
+            var va = Seq.seq(Util.collectAnnotations(m, Mimic.Validation.class, faces))
+                .map(x -> {
+                    var id = tuple((Class) x.value(), x.property());
+                    if (!exists.contains(id)) {
+                        exists.add(id);
+                        var field = Util.fetchStaticFieldValue(x.value(), x.property());
+                        if (!(field instanceof BiConsumer))
+                            throw new IllegalStateException("validator is not a Consumer");
+                        return (BiConsumer<String, Object>) field;
+                    } else {
+                        return null;
+                    }
+                }).filter(Objects::nonNull).toList();
+
+            for (BiConsumer<String, Object> v : va) {
+                pre = pre == null ? v : pre.andThen(v);
+            }
+        }
+        //Default convert Mimic Type
+        if (processor == null && Mimic.class.isAssignableFrom(prop)) {
+            processor = tuple(
+                new Nested(prop, prop),
+                x -> x instanceof Mimic ? ((Mimic) x).underlyingMap() : x
+            );
+            var pp = pre;
+            pre = pp == null ? (na, x) -> {
+                if (x instanceof Mimic)
+                    ((Mimic) x).validate();
+                else if (x instanceof Map)
+                    instance(prop, (Map<String, Object>) x).validate();
+            } : (na, x) -> {
+                if (x instanceof Mimic)
+                    ((Mimic) x).validate();
+                else if (x instanceof Map)
+                    instance(prop, (Map<String, Object>) x).validate();
+                else pp.accept(na, x);
+            };
+        }
+        if (processor == null) {
+            processor = tuple(null, null);
+        }
+        return tuple(name, processor.concat(pre).concat(prop));
+    }
+
+
+    //(asString)=>(FromString,ToString)
+    @SuppressWarnings("unchecked")
+    static Tuple2<Function<Object, Object>, Function<Object, Object>> extract(Mimic.Dao.AsString an) {
+        var holder = an.value();
+        var frm = (Function<Object, Object>) Util.fetchStaticFieldValue(holder, an.fromProperty());
+        var tr = (Function<Object, Object>) Util.fetchStaticFieldValue(holder, an.toProperty());
+        return tuple(frm, tr);
+    }
+
+    /**
+     * built-in conversions of {@link Mimic.Dao.AsString}, one final class for all kinds, which {@link PropertyInfo} calls directly.
+     * <p>values already in the converted form are returned as is.
+     */
+    static final class Text implements Function<Object, Object> {
+        static final int DECIMAL = 0;
+        static final int LONG = 1;
+        //epoch millis
+        static final int INSTANT = 2;
+        final int kind;
+        //from string for getter, else to string for setter
+        final boolean parse;
+
+        Text(int kind, boolean parse) {
+            this.kind = kind;
+            this.parse = parse;
+        }
+
+        //(property type)=>(FromString,ToString), null if not supported
+        static Tuple2<Function<Object, Object>, Function<Object, Object>> of(Class<?> prop) {
+            int kind;
+            if (prop.isAssignableFrom(BigDecimal.class)) kind = DECIMAL;
+            else if (prop.isAssignableFrom(Long.class)) kind = LONG;
+            else if (prop.isAssignableFrom(Instant.class)) kind = INSTANT;
+            else return null;
+            return tuple(new Text(kind, true), new Text(kind, false));
+        }
+
+        @Override
+        public Object apply(Object x) {
+            if (parse) {
+                if (!(x instanceof String)) return x;
+                var s = (String) x;
+                switch (kind) {
+                    case DECIMAL:
+                        return new BigDecimal(s);
+                    case LONG:
+                        return Long.parseLong(s);
+                    default:
+                        return Instant.ofEpochMilli(Long.parseLong(s));
+                }
+            }
+            switch (kind) {
+                case DECIMAL:
+                    return x instanceof BigDecimal ? ((BigDecimal) x).toPlainString() : x;
+                case LONG:
+                    return x instanceof Long ? x.toString() : x;
+                default:
+                    return x instanceof Instant ? Long.toString(((Instant) x).toEpochMilli()) : x;
+            }
+        }
+    }
+
+    /**
+     * getter conversion of nested Mimic, from stored {@link Map} or collection of {@link Map}.
+     * <p>a {@link List} is converted to a {@link LazyList}, which converts each element on first access;
+     * a {@link Set} or an array is converted at once.
+     */
+    static final class Nested implements Function<Object, Object> {
+        final Class type;
+        //declared type of the property
+        final Class prop;
+
+        Nested(Class type, Class prop) {
+            this.type = type;
+            this.prop = prop;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Object apply(Object v) {
+            if (v instanceof Map) {
+                return type == prop ? instance(type, (Map<String, Object>) v) : v;
+            } else if (prop.isArray() && (v instanceof List || v.getClass().isArray())) {
+                var src = v instanceof List ? ((List<?>) v).toArray() : (Object[]) v;
+                var arr = (Object[]) Array.newInstance(type, src.length);
+                for (int i = 0; i < src.length; i++) arr[i] = element(type, src[i]);
+                return arr;
+            } else if (v instanceof List && !(v instanceof LazyList) && !((List<?>) v).isEmpty()) {
+                return new LazyList(type, (List<Object>) v);
+            } else if (v instanceof Set && !((Set<?>) v).isEmpty()) {
+                return Seq.seq((Set<?>) v).map(x -> element(type, x)).toSet();
+            }
+            return v;
+        }
+
+        @SuppressWarnings("unchecked")
+        static Object element(Class type, Object x) {
+            return x instanceof Map ? instance(type, (Map<String, Object>) x) : x;
+        }
+    }
+
+    /**
+     * list of nested Mimic as a view of stored list, elements are converted on first access then cached.
+     * <p>the size is fixed, {@link #set(int, Object)} writes both the cached element and the stored list.
+     */
+    static final class LazyList extends AbstractList<Object> implements RandomAccess {
+        private static final VarHandle AT = MethodHandles.arrayElementVarHandle(Object[].class);
+        final Class type;
+        final List<Object> source;
+        final Object[] converted;
+
+        LazyList(Class type, List<Object> source) {
+            this.type = type;
+            this.source = source;
+            this.converted = new Object[source.size()];
+        }
+
+        @Override
+        public Object get(int index) {
+            var v = AT.getAcquire(converted, index);
+            if (v != null) return v;
+            v = Nested.element(type, source.get(index));
+            AT.setRelease(converted, index, v);
+            return v;
+        }
+
+        @Override
+        public Object set(int index, Object element) {
+            var old = get(index);
+            source.set(index, element instanceof Mimic ? ((Mimic) element).underlyingMap() : element);
+            AT.setRelease(converted, index, element);
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return converted.length;
+        }
+
+        //stored form, elements never accessed are not converted back
+        List<Object> storage() {
+            var l = new ArrayList<>(converted.length);
+            for (int i = 0; i < converted.length; i++) {
+                var v = AT.getAcquire(converted, i);
+                l.add(v == null ? source.get(i) : v instanceof Mimic ? ((Mimic) v).underlyingMap() : v);
+            }
+            return l;
+        }
+    }
+
+    //endregion
+    //region Factory
+
+    interface Factory {
+        List<String> defaultMethodName = Arrays.asList("underlyingMap", "underlyingChangedProperties");
+
+        Mimic build(Map<String, Object> data);
+
+        //build instances in order of data
+        default List<Mimic> buildAll(Iterable<? extends Map<String, Object>> data) {
+            var list = data instanceof Collection
+                ? new ArrayList<Mimic>(((Collection<?>) data).size())
+                : new ArrayList<Mimic>();
+            for (var m : data) list.add(build(m));
+            return list;
+        }
+
+        //build instance from values in getter form indexed by slot, which are validated by the caller, the array is owned by the instance
+        default Mimic buildSlots(Object[] values) {
+            var slots = properties().slots();
+            var m = new HashMap<String, Object>(slots.length * 2);
+            for (var pi : slots) {
+                var v = values[pi.ordinal];
+                if (v != null) m.put(pi.property, pi.invokeSetter(v));
+            }
+            return build(m);
+        }
+
+        //shallow copy of an instance of the type or its sub type, values are not validated again
+        default Mimic copy(Mimic source) {
+            return buildSlots(codecs.values(source, properties().slots()));
+        }
+
+        PropertiesInfo properties();
+
+        Registry<Class, MimicInfo> infoCache = Registry.of(Factory::infoBuild);
+
+        /**
+         * @return (MapBuilder, MethodPropertyNameExtract, ConcurrentMode, EntityValidation, DefaultMethods, PropertyInfos)
+         */
+        static MimicInfo infoBuild(Class<?> cls) {
+            try {
+                var strategy = nameStrategy(cls);
+                var methods = cls.getMethods();
+                var getters = Seq.of(methods).filter(strategy.getPred)
+                    .filter(x -> !defaultMethodName.contains(x.getName()))
+                    .toList();
+                var setters = Seq.of(methods).filter(strategy.setPred).toList();
+                var other = Seq.of(methods).filter(Method::isDefault).toList();
+                var getProcessor = seq(getters)
+                    .map(x -> compute(x, strategy.getName).map2(v -> tuple(x, (Method) null, v)))
+                    .toMap(Tuple2::v1, Tuple2::v2);
+                var setProcessor = seq(setters)
+                    .map(x -> compute(x, strategy.setName).map2(v -> tuple((Method) null, x, v)))
+                    .toMap(Tuple2::v1, Tuple2::v2);
+                //Property->(GetterMethod,SetterMethod,GetterProcessor,SetterProcessor,Validator,PropertyType)
+                var prop = new HashMap<String, Tuple3<Method, Method, Tuple4<Function<Object, Object>, Function<Object, Object>, BiConsumer<String, Object>, Class>>>();
+                for (String k : getProcessor.keySet()) {
+                    prop.put(k, getProcessor.get(k));
+                }
+                for (String k : setProcessor.keySet()) {
+                    var v = setProcessor.get(k);
+                    var v0 = prop.putIfAbsent(k, v);
+                    if (v0 != null) {
+                        var v1 = v0;
+                        v1 = v1.map2($ -> v.v2);
+                        if (v1.v3.v1 == null && v.v3.v1 != null) {
+                            v1 = v1.map3(v3 -> v3.map1(x -> v.v3.v1));
+                        }
+                        if (v1.v3.v2 == null && v.v3.v2 != null) {
+                            v1 = v1.map3(v3 -> v3.map2(x -> v.v3.v2));
+                        }
+                        if (v1.v3.v3 == null && v.v3.v3 != null) {
+                            v1 = v1.map3(v3 -> v3.map3(x -> v.v3.v3));
+                        }
+                        prop.put(k, v1);
+                    }
+                }
+                var ordinals = seq(prop.keySet()).sorted().zipWithIndex().toMap(Tuple2::v1, x -> x.v2.intValue());
+                var info = seq(prop)
+                    .map(x -> x.map2(v -> v.map3(t -> new PropertyInfo(x.v1, ordinals.get(x.v1), t))))
+                    .toMap(Tuple2::v1, Tuple2::v2);
+                var concurrently = cls.getAnnotationsByType(Mimic.Concurrent.class);
+                //0 no concurrent, 1 use sync ,2 use concurrent hashmap
+                var concurrent = concurrently.length == 0 ? 0 : concurrently[0].value() ? 1 : 2;
+                var n = prop.size(); //see hashMap default load factor
+                var mapBuilder =
+                    concurrent == 2
+                        ? (Supplier<Map<String, Object>>) () -> new ConcurrentHashMap<>(n)
+                        : (Supplier<Map<String, Object>>) () -> new HashMap<>(n);
+                var defaultValues = seq(info).map(x -> x.map2(v -> {
+                    var type = v.v3.type;
+                    var conv = v.v3.setterConv;
+                    if (type.isPrimitive()) {
+                        if (char.class.equals(type)) {
+                            return conv != null ? conv.apply((char) 0) : (char) 0;
+                        } else if (byte.class.equals(type)) {
+                            return conv != null ? conv.apply((byte) 0) : (byte) 0;
+                        } else if (short.class.equals(type)) {
+                            return conv != null ? conv.apply((short) 0) : (short) 0;
+                        } else if (int.class.equals(type)) {
+                            return conv != null ? conv.apply(0) : 0;
+                        } else if (long.class.equals(type)) {
+                            return conv != null ? conv.apply((long) 0) : (long) 0;
+                        } else if (double.class.equals(type)) {
+                            return conv != null ? conv.apply((double) 0) : (double) 0;
+                        } else if (float.class.equals(type)) {
+                            return conv != null ? conv.apply((float) 0) : (float) 0;
+                        } else if (boolean.class.equals(type)) {
+                            return conv != null ? conv.apply(false) : false;
+                        }
+                    }
+                    return null;
+                })).filter(x -> x.v2 != null).toMap(Tuple2::v1, Tuple2::v2);
+                var validation = Validation.of(seq(info.values()).map(x -> x.v3).toList());
+                return MimicInfo.of(mapBuilder, strategy, concurrent, validation, other, info, defaultValues);
+            } catch (Exception e) {
+                Mimic.log.error("fail to build Mimic '{}' information", cls, e);
+                throw e;
+            }
+        }
+    }
+    //endregion
+
+    interface ProxyFactory {
+        /**
+         * the resolved action of a method on proxy
+         */
+        @FunctionalInterface
+        interface Handler {
+            Object invoke(ProxyInstance self, Object[] args) throws Throwable;
+        }
+
+        /**
+         * the invocation handler of one proxy instance, dispatch by the handler table of {@link DynamicProxyFactory}
+         */
+        final class ProxyInstance implements InvocationHandler {
+            private static final VarHandle CONVERTED = MethodHandles.arrayElementVarHandle(Object[].class);
+            final DynamicProxyFactory factory;
+            final Map<String, Object> map;
+            final Changes changes;
+            //converted values indexed by slot, null if the type has no converted property
+            final Object[] converted;
+            Mimic proxy;
+
+            ProxyInstance(DynamicProxyFactory factory, Map<String, Object> map, Changes changes) {
+                this.factory = factory;
+                this.map = map;
+                this.changes = changes;
+                this.converted = factory.cached ? new Object[factory.prop.size()] : null;
+            }
+
+            //(slot,stored value)=>cached getter value, recomputed when the stored value is replaced
+            Object cached(PropertyInfo pi, Object stored) {
+                var c = (Converted) CONVERTED.getAcquire(converted, pi.ordinal);
+                if (c != null && c.stored == stored) return c.value;
+                var v = pi.invokeGetter(stored);
+                CONVERTED.setRelease(converted, pi.ordinal, new Converted(stored, v));
+                return v;
+            }
+
+            void invalidate(int slot) {
+                if (converted != null) CONVERTED.setRelease(converted, slot, null);
+            }
+
+            //read property in getter form, absent primitive is zero
+            Object value(PropertyInfo pi) {
+                var mx = map.get(pi.property);
+                if (mx == null) return pi.zero;
+                return pi.cached ? cached(pi, mx) : pi.invokeGetter(mx);
+            }
+
+            //same as Mimic#validateChanged, called by the default method through the proxy
+            void validateChanged() throws IllegalStateException {
+                var v = factory.validation;
+                if (v != null) v.check(changes, this::value);
+            }
+
+            //rebind to data in storage form, same as a new instance built by the factory
+            void reset(Map<String, Object> data) {
+                if (factory.concurrent == 1) {
+                    synchronized (map) {
+                        load(data);
+                    }
+                } else load(data);
+            }
+
+            private void load(Map<String, Object> data) {
+                map.clear();
+                factory.fill(map, data);
+                changes.clear();
+                if (converted != null) {
+                    for (int i = 0; i < converted.length; i++) invalidate(i);
+                }
+            }
+
+            //set values in getter form indexed by slot, SKIP values are ignored, validated before any set unless trusted
+            void assign(Object[] values, boolean trusted) {
+                var slots = factory.prop.slots();
+                if (!trusted) {
+                    for (var pi : slots) {
+                        var v = values[pi.ordinal];
+                        if (v != SKIP) pi.validateSetter(v);
+                    }
+                }
+                if (factory.concurrent == 1) {
+                    synchronized (map) {
+                        put(slots, values);
+                    }
+                } else put(slots, values);
+            }
+
+            private void put(PropertyInfo[] slots, Object[] values) {
+                for (var pi : slots) {
+                    var v = values[pi.ordinal];
+                    if (v == SKIP) continue;
+                    if (v == null) map.remove(pi.property);
+                    else map.put(pi.property, pi.invokeSetter(v));
+                    changes.mark(pi.ordinal);
+                    invalidate(pi.ordinal);
+                }
+            }
+
+            @Override
+            public Object invoke(Object p, Method m, Object[] args) throws Throwable {
+                var h = factory.handlers.get(m);
+                if (h == null) h = factory.handlers.computeIfAbsent(m, factory::handler);
+                return h.invoke(this, args);
+            }
+        }
+
+        /**
+         * getter value of a converted property, valid while the stored value is the same one
+         */
+        final class Converted {
+            final Object stored;
+            final Object value;
+
+            Converted(Object stored, Object value) {
+                this.stored = stored;
+                this.value = value;
+            }
+        }
+
+        final class DynamicProxyFactory implements Factory {
+            final AtomicReference<Constructor<MethodHandles.Lookup>> constructor = new AtomicReference<>();
+            final Supplier<Map<String, Object>> mapBuilder;
+            final Class cls;
+            final Function<String, String> extract;
+            final Validation validation;
+            final PropertiesInfo prop;
+            final int concurrent;
+            final Map<String, Object> defaultValues;
+            //method -> handler, resolved once per type
+            final Map<Method, Handler> handlers;
+            //any property is converted by getter
+            final boolean cached;
+
+            @Override
+            public PropertiesInfo properties() {
+                return prop;
+            }
+
+            DynamicProxyFactory(Supplier<Map<String, Object>> mapBuilder,
+                                Class cls,
+                                Function<String, String> extract,
+                                Validation validation,
+                                PropertiesInfo prop,
+                                int concurrent,
+                                Map<String, Object> defaultValues) {
+                this.mapBuilder = mapBuilder;
+                this.cls = cls;
+                this.extract = extract;
+                this.validation = validation;
+                this.prop = prop;
+                this.concurrent = concurrent;
+                this.defaultValues = defaultValues;
+                this.cached = seq(prop.values()).anyMatch(x -> x.cached);
+                this.handlers = new ConcurrentHashMap<>();
+                for (Method m : cls.getMethods()) {
+                    if (Modifier.isStatic(m.getModifiers())) continue;
+                    handlers.put(m, handler(m));
+                }
+            }
+
+            //resolve the action of a method
+            Handler handler(Method m) {
+                var method = m.getName();
+                switch (method) {
+                    case "toString":
+                        return (s, args) -> cls.getCanonicalName() + "$Proxy@" + Integer.toHexString(s.map.hashCode()) + s.map;
+                    case "hashCode":
+                        return (s, args) -> s.map.hashCode();
+                    case "equals":
+                        return (s, args) -> s.map.equals(args[0]);
+                    case "underlyingMap": //special method
+                        return (s, args) -> s.map;
+                    case "underlyingChangedProperties": //special method
+                        return (s, args) -> s.changes;
+                    default:
+                        break;
+                }
+                var field = extract.apply(method);
+                if (m.isDefault()) {
+                    var invoker = Util.fetchDefaultInvoker(m.getDeclaringClass(), m);
+                    var validate = validation != null && method.equals("validate") && m.getReturnType() == Void.TYPE;
+                    return (s, args) -> {
+                        if (validate) {
+                            validation.check(s::value);
+                        }
+                        return (Object) invoker.invokeExact((Object) s.proxy, args);
+                    };
+                }
+                var pi = field.isEmpty() ? null : prop.get(field);
+                if (pi != null && m.getParameterCount() == 0 && m.getReturnType() != Void.TYPE) { //must a getter
+                    if (pi.cached) return (s, args) -> {
+                        var mx = s.map.get(field);
+                        if (mx == null) return pi.zero;
+                        return s.cached(pi, mx);
+                    };
+                    return (s, args) -> {
+                        var mx = s.map.get(field);
+                        if (mx == null) return pi.zero;
+                        return pi.invokeGetter(mx);
+                    };
+                }
+                if (pi != null && m.getParameterCount() == 1 &&
+                    (m.getReturnType().isAssignableFrom(cls) || m.getReturnType() == Void.TYPE)) {// must a setter
+                    var self = m.getReturnType().isAssignableFrom(cls);
+                    var slot = pi.ordinal;
+                    var sync = concurrent == 1;
+                    var cached = pi.cached;
+                    return (s, args) -> {
+                        var v = args[0];
+                        var map = s.map;
+                        pi.validateSetter(v);
+                        if (v == null) {
+                            if (sync) {
+                                synchronized (map) {
+                                    s.changes.mark(slot);
+                                    map.remove(field);
+                                }
+                            } else {
+                                s.changes.mark(slot);
+                                map.remove(field);
+                            }
+                            if (cached) s.invalidate(slot);
+                            return self ? s.proxy : null;
+                        }
+                        v = pi.invokeSetter(v);
+                        if (sync) {
+                            synchronized (map) {
+                                s.changes.mark(slot);
+                                map.put(field, v);
+                            }
+                        } else {
+                            s.changes.mark(slot);
+                            map.put(field, v);
+                        }
+                        if (cached) s.invalidate(slot);
+                        return self ? s.proxy : null;
+                    };
+                }
+                return (s, args) -> {
+                    throw new IllegalStateException("can not process method '" + m + "': with args" + Arrays.toString(args));
+                };
+            }
+
+            public Mimic build(Map<String, Object> data) {
+                final Map<String, Object> map = mapBuilder.get();
+                fill(map, data);
+                return wrap(map);
+            }
+
+            @Override
+            public Mimic copy(Mimic source) {
+                var h = mimics.handler(source);
+                if (!(h instanceof ProxyInstance) || ((ProxyInstance) h).factory != this) return Factory.super.copy(source);
+                var from = ((ProxyInstance) h).map;
+                final Map<String, Object> map = mapBuilder.get();
+                if (concurrent == 1) {
+                    synchronized (from) {
+                        map.putAll(from);
+                    }
+                } else map.putAll(from);
+                return wrap(map);
+            }
+
+            Mimic wrap(Map<String, Object> map) {
+                var h = new ProxyInstance(this, map, Changes.of(prop, concurrent));
+                h.proxy = (Mimic) Proxy.newProxyInstance(cls.getClassLoader(), new Class[]{cls}, h);
+                return h.proxy;
+            }
+
+            //data in storage form and defaults into an empty map
+            void fill(Map<String, Object> map, Map<String, Object> data) {
+                if (data != null && !data.isEmpty()) {
+                    //coerce primitive values once, then getters return them directly
+                    for (var e : data.entrySet()) {
+                        var pi = prop.get(e.getKey());
+                        var v = e.getValue();
+                        map.put(e.getKey(), pi != null && pi.getterConv == null ? pi.coerce(v) : v);
+                    }
+                }
+                //default values
+                if (defaultValues != null && !defaultValues.isEmpty()) {
+                    defaultValues.forEach(map::putIfAbsent);
+                }
+            }
+
+        }
+
+        static Factory build(Class<? extends Mimic> cls) {
+            if (!Mimic.class.isAssignableFrom(cls)) {
+                throw new IllegalStateException(cls + " is not a mimic!");
+            }
+            if (cls.isAnnotationPresent(Mimic.Immutable.class)) return ImmutableFactory.proxy(cls);
+            var info = Factory.infoCache.get(cls);
+            if (info == null) throw new IllegalStateException("could not generate mimic info from " + cls);
+            return new ProxyFactory.DynamicProxyFactory(
+                info.mapBuilder,
+                cls,
+                info.strategy.extract,
+                info.validation,
+                info.getPropertyInfo(),
+                info.concurrentMode,
+                info.defaultValues);
+        }
+
+        Registry<Class, Factory> cache = Registry.of(ProxyFactory::build);
+    }
+
+    public interface AsmFactory {
+        @FunctionalInterface
+        interface AsmCreator extends Function<Map, Object> {
+        }
+
+
+        interface FunctorInfo extends Map<String, Tuple2<Function<Object, Object>, BiConsumer<Object, Object>>> {
+            /**
+             * @return field writers of the implement indexed by slot, which skip setters, empty when unknown.
+             */
+            MethodHandle[] stores();
+
+            /**
+             * @return field equality between two instances of the implement indexed by slot, empty when unknown.
+             */
+            MethodHandle[] sames();
+
+            /**
+             * @return field readers (self)->value in getter form of the implement indexed by slot, empty when unknown.
+             */
+            MethodHandle[] loads();
+
+            final class impl extends HashMap<String, Tuple2<Function<Object, Object>, BiConsumer<Object, Object>>> implements AsmFactory.FunctorInfo {
+                private MethodHandle[] stores = NO_STORES;
+                private MethodHandle[] sames = NO_STORES;
+                private MethodHandle[] loads = NO_STORES;
+
+                impl(int initialCapacity, float loadFactor) {
+                    super(initialCapacity, loadFactor);
+                }
+
+                impl(int initialCapacity) {
+                    super(initialCapacity);
+                }
+
+                impl(Map<? extends String, ? extends Tuple2<Function<Object, Object>, BiConsumer<Object, Object>>> m) {
+                    super(m);
+                }
+
+                @Override
+                public MethodHandle[] stores() {
+                    return stores;
+                }
+
+                @Override
+                public MethodHandle[] sames() {
+                    return sames;
+                }
+
+                @Override
+                public MethodHandle[] loads() {
+                    return loads;
+                }
+            }
+
+            MethodHandle[] NO_STORES = new MethodHandle[0];
+
+            static AsmFactory.FunctorInfo of(Map<String, Tuple2<Function<Object, Object>, BiConsumer<Object, Object>>> map) {
+                return new AsmFactory.FunctorInfo.impl(map);
+            }
+
+            static AsmFactory.FunctorInfo of(int cap) {
+                return new AsmFactory.FunctorInfo.impl(cap);
+            }
+
+            static AsmFactory.FunctorInfo of(int cap, float loadFactor) {
+                return new AsmFactory.FunctorInfo.impl(cap, loadFactor);
+            }
+
+            static AsmFactory.FunctorInfo of(int cap, MethodHandle[] stores, MethodHandle[] sames, MethodHandle[] loads) {
+                var f = new AsmFactory.FunctorInfo.impl(cap);
+                f.stores = stores;
+                f.sames = sames;
+                f.loads = loads;
+                return f;
+            }
+        }
+
+        /**
+         * base of generated Mimic, the generated fields are the only storage.
+         * <p>the {@link #underlyingMap()} is a lazily created {@link FieldMap} view backed by those fields.
+         */
+        abstract class Base implements Mimic {
+            protected final PropertiesInfo info;
+            //properties indexed by slot (the ordinal), shared by all instances of the type
+            protected final PropertyInfo[] slots;
+            protected final AsmFactory.FunctorInfo functor;
+            protected final Changes changes;
+            protected final Validator validator;
+            protected final String name;
+            //monitor of concurrent instances, null if not concurrent
+            final Object lock;
+            private Map<String, Object> view;
+
+            void trySync(Runnable action) {
+                if (lock == null) {
+                    action.run();
+                    return;
+                }
+                synchronized (lock) {
+                    action.run();
+                }
+            }
+
+            <R> R trySync(Supplier<R> action) {
+                if (lock == null) return action.get();
+                synchronized (lock) {
+                    return action.get();
+                }
+            }
+
+            protected abstract Object self();
+
+            //initial values in storage form to self
+            void initial(Map<String, Object> data) {
+                trySync(() -> {
+                    for (var e : data.entrySet()) {
+                        var p = e.getKey();
+                        var fn = functor.get(p);
+                        if (fn == null) continue; //safe guarding
+                        var pi = info.get(p);
+                        var v = e.getValue() == null ? null : pi.invokeGetter(e.getValue());
+                        if (v == null && pi.type.isPrimitive()) continue;
+                        //getter only property has nothing to validate
+                        if (fn.v2 == null) store(pi, v);
+                        else fn.v2.accept(self(), v);
+                    }
+                    changes.clear();
+                });
+            }
+
+            //read property in storage form
+            Object read(String prop) {
+                var fn = functor.get(prop);
+                if (fn == null || fn.v1 == null) return null;
+                return trySync(() -> {
+                    var v = fn.v1.apply(self());
+                    return v == null ? null : info.get(prop).invokeSetter(v);
+                });
+            }
+
+            //read property in getter form
+            Object value(String prop) {
+                var fn = functor.get(prop);
+                if (fn == null || fn.v1 == null) return null;
+                return trySync(() -> fn.v1.apply(self()));
+            }
+
+            //rebind self to data in storage form, cleared fields are stored as null or zero without validation
+            void reset(Map<String, Object> data) {
+                trySync(() -> {
+                    for (var pi : slots) {
+                        if (data != null && data.get(pi.property) != null) continue;
+                        store(pi, null);
+                    }
+                    if (data != null && !data.isEmpty()) initial(data);
+                    else changes.clear();
+                });
+            }
+
+            //initial values in getter form indexed by slot, which are validated by the caller, stored without validation
+            void initial(Object[] values) {
+                trySync(() -> {
+                    for (var pi : slots) {
+                        var v = values[pi.ordinal];
+                        if (v != null) store(pi, v);
+                    }
+                    changes.clear();
+                });
+            }
+
+            //set values in getter form indexed by slot, SKIP values are ignored, validated before any set unless trusted
+            void assign(Object[] values, boolean trusted) {
+                if (!trusted) {
+                    for (var pi : slots) {
+                        var v = values[pi.ordinal];
+                        if (v != SKIP) pi.validateSetter(v);
+                    }
+                }
+                trySync(() -> {
+                    for (var pi : slots) {
+                        var v = values[pi.ordinal];
+                        if (v == SKIP) continue;
+                        changes.mark(pi.ordinal);
+                        store(pi, v);
+                    }
+                });
+            }
+
+            //read the slot in getter form from the field
+            @SneakyThrows
+            Object load(int slot) {
+                return functor.loads()[slot].invokeExact(self());
+            }
+
+            //the slot of self holds the same value as the one of other, which is an instance of the same implement
+            @SneakyThrows
+            boolean same(Base other, int slot) {
+                return (boolean) functor.sames()[slot].invokeExact(self(), other.self());
+            }
+
+            //write property in storage form, null of primitive writes zero, getter only property is stored directly
+            void write(String prop, Object value) {
+                var fn = functor.get(prop);
+                if (fn == null)
+                    throw new IllegalArgumentException("'" + prop + "' is not a property of " + name);
+                var pi = info.get(prop);
+                var v = value == null ? pi.zero : pi.invokeGetter(value);
+                if (fn.v2 != null) {
+                    fn.v2.accept(self(), v);
+                    return;
+                }
+                trySync(() -> {
+                    store(pi, v);
+                    changes.mark(pi.ordinal);
+                });
+            }
+
+            //write value in getter form to the field, without validation nor change tracking
+            @SneakyThrows
+            void store(PropertyInfo pi, Object value) {
+                var stores = functor.stores();
+                if (pi.ordinal >= stores.length || stores[pi.ordinal] == null)
+                    throw new IllegalStateException("no field of '" + pi.property + "' in " + name);
+                stores[pi.ordinal].invokeExact(self(), value == null ? pi.zero : value);
+            }
+
+            //set data, the slot is resolved when generate the implement
+            protected void set(int slot, Object value) {
+                slots[slot].validateSetter(value);
+                changes.mark(slot);
+            }
+
+            //region primitive setters, value only boxed when there is a validation
+            protected void set(int slot, int value) {
+                var pi = slots[slot];
+                if (pi.setterValidate != null) pi.validateSetter(value);
+                changes.mark(slot);
+            }
+
+            protected void set(int slot, long value) {
+                var pi = slots[slot];
+                if (pi.setterValidate != null) pi.validateSetter(value);
+                changes.mark(slot);
+            }
+
+            protected void set(int slot, double value) {
+                var pi = slots[slot];
+                if (pi.setterValidate != null) pi.validateSetter(value);
+                changes.mark(slot);
+            }
+
+            protected void set(int slot, float value) {
+                var pi = slots[slot];
+                if (pi.setterValidate != null) pi.validateSetter(value);
+                changes.mark(slot);
+            }
+
+            protected void set(int slot, boolean value) {
+                var pi = slots[slot];
+                if (pi.setterValidate != null) pi.validateSetter(value);
+                changes.mark(slot);
+            }
+
+            protected void set(int slot, char value) {
+                var pi = slots[slot];
+                if (pi.setterValidate != null) pi.validateSetter(value);
+                changes.mark(slot);
+            }
+
+            protected void set(int slot, short value) {
+                var pi = slots[slot];
+                if (pi.setterValidate != null) pi.validateSetter(value);
+                changes.mark(slot);
+            }
+
+            protected void set(int slot, byte value) {
+                var pi = slots[slot];
+                if (pi.setterValidate != null) pi.validateSetter(value);
+                changes.mark(slot);
+            }
+            //endregion
+
+            @Override
+            public void validate() throws IllegalStateException {
+                if (validator != null) trySync(() -> ((mimics.Validation) validator).check(pi -> load(pi.ordinal)));
+            }
+
+            @Override
+            public void validateChanged() throws IllegalStateException {
+                if (validator != null) trySync(() -> ((mimics.Validation) validator).check(changes, pi -> load(pi.ordinal)));
+            }
+
+            protected Base(PropertiesInfo info,
+                           AsmFactory.FunctorInfo functor,
+                           String name,
+                           int concurrentMode,
+                           Validator validator) {
+                this.validator = validator;
+                this.info = info;
+                this.slots = info.slots();
+                this.functor = functor;
+                this.name = name;
+                this.changes = Changes.of(info, concurrentMode);
+                if (concurrentMode == 1) {
+                    this.lock = new Object();
+                } else {
+                    this.lock = null;
+                }
+            }
+
+            @Override
+            public @NotNull Map<String, Object> underlyingMap() {
+                if (view == null) view = new FieldMap(this);
+                return view;
+            }
+
+            @Override
+            public @NotNull Set<String> underlyingChangedProperties() {
+                return changes;
+            }
+
+            @Override
+            public int hashCode() {
+                return underlyingMap().hashCode();
+            }
+
+            @Override
+            public boolean equals(Object obj) {
+                if (obj instanceof AsmFactory.Base) {
+                    return ((AsmFactory.Base) obj).underlyingMap().equals(underlyingMap());
+                }
+                return false;
+            }
+
+            @Override
+            public String toString() {
+                var m = underlyingMap();
+                return name + "@" + Integer.toHexString(m.hashCode()) + m;
+            }
+
+            static final Method SET;
+
+
+            static {
+                try {
+                    SET = AsmFactory.Base.class.getDeclaredMethod("set", int.class, Object.class);
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            //(setter parameter type)=>set method
+            static Method setter(Class<?> type) {
+                if (!type.isPrimitive()) return SET;
+                try {
+                    return AsmFactory.Base.class.getDeclaredMethod("set", int.class, type);
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        /**
+         * fixed keys map view of {@link Base}, values are in storage form and null values are absent.
+         * <p>writes on this view, include removal and {@link Entry#setValue}, go through the property setter,
+         * a removed primitive property is set to zero, so it stays present.
+         */
+        final class FieldMap extends AbstractMap<String, Object> {
+            final Base base;
+
+            FieldMap(Base base) {
+                this.base = base;
+            }
+
+            @Override
+            public Object get(Object key) {
+                return key instanceof String ? base.read((String) key) : null;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return get(key) != null;
+            }
+
+            @Override
+            public Object put(String key, Object value) {
+                var old = base.read(key);
+                base.write(key, value);
+                return old;
+            }
+
+            @Override
+            public Object remove(Object key) {
+                var old = get(key);
+                if (old != null) base.write((String) key, null);
+                return old;
+            }
+
+            @Override
+            public void clear() {
+                for (var pi : base.slots) remove(pi.property);
+            }
+
+            @Override
+            public @NotNull Set<Entry<String, Object>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public @NotNull Iterator<Entry<String, Object>> iterator() {
+                        return new Fields();
+                    }
+
+                    @Override
+                    public int size() {
+                        var n = 0;
+                        for (var pi : base.slots) {
+                            if (base.read(pi.property) != null) n++;
+                        }
+                        return n;
+                    }
+                };
+            }
+
+            //walks the slots lazily
+            final class Fields implements Iterator<Entry<String, Object>> {
+                int slot = -1;
+                Object next;
+                String last;
+
+                Fields() {
+                    seek();
+                }
+
+                void seek() {
+                    while (++slot < base.slots.length) {
+                        next = base.read(base.slots[slot].property);
+                        if (next != null) return;
+                    }
+                    next = null;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return slot < base.slots.length;
+                }
+
+                @Override
+                public Entry<String, Object> next() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    last = base.slots[slot].property;
+                    var e = new SimpleEntry<String, Object>(last, next) {
+                        @Override
+                        public Object setValue(Object value) {
+                            put(getKey(), value);
+                            return super.setValue(value);
+                        }
+                    };
+                    seek();
+                    return e;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) throw new IllegalStateException();
+                    FieldMap.this.remove(last);
+                    last = null;
+                }
+            }
+        }
+
+        @SuppressWarnings("rawtypes")
+        final class ByteBuddyFactory implements Factory {
+            final PropertiesInfo prop;
+            final AsmFactory.AsmCreator eager;
+            final Class type;
+
+            ByteBuddyFactory(PropertiesInfo prop, AsmFactory.AsmCreator eager, Class type) {
+                this.prop = prop;
+                this.eager = eager;
+                this.type = type;
+            }
+
+            @Override
+            public Mimic build(Map<String, Object> data) {
+                return (Mimic) eager.apply(data);
+            }
+
+            @Override
+            public Mimic buildSlots(Object[] values) {
+                var m = (AsmFactory.Base) eager.apply(null);
+                m.initial(values);
+                return m;
+            }
+
+            @Override
+            public Mimic copy(Mimic source) {
+                var values = codecs.values(source, prop.slots());
+                var m = (AsmFactory.Base) eager.apply(null);
+                m.initial(values);
+                return m;
+            }
+
+            @Override
+            public PropertiesInfo properties() {
+                return prop;
+            }
+
+        }
+
+        Object[] ZERO = new Object[0];
+        /**
+         * static field of precompiled implement holds property names in slot order
+         */
+        String PROPERTIES = "PROPERTIES";
+
+        //cls->((lazyCtor,eagerCtor),properties)
+        static <T extends Mimic> Tuple2<AsmFactory.AsmCreator, PropertiesInfo> buildInfo(Class<T> cls) {
+            return buildInfo(cls, null);
+        }
+
+        //(cls,precompiled)->(eagerCtor,properties), generate implement when precompiled is null
+        @SuppressWarnings("unchecked")
+        @SneakyThrows
+        static <T extends Mimic> Tuple2<AsmFactory.AsmCreator, PropertiesInfo> buildInfo(Class<T> cls, Class<?> precompiled) {
+            try {
+                var typeName = precompiled == null ? classes.nameOf(cls) : precompiled.getName();
+                var info = Factory.infoCache.get(cls);
+                if (info == null) throw new IllegalStateException("could not generate mimic info from " + cls);
+                final AsmFactory.AsmCreator ctor;
+                final Class<?> impl = precompiled == null ? generate(cls, info, typeName) : precompiled;
+                var prop = info.getPropertyInfo();
+                if (precompiled != null && !matches(precompiled, prop))
+                    throw new IllegalStateException("precompiled '" + precompiled + "' is outdated with " + cls + ", please recompile");
+                final AsmFactory.FunctorInfo functor = functor(info, impl);
+                {
+                    var ctorRef = impl
+                        .getConstructor(
+                            PropertiesInfo.class,
+                            AsmFactory.FunctorInfo.class,
+                            String.class,
+                            int.class,
+                            Validator.class);
+                    var con = info.concurrentMode;
+                    var valid = info.validation;
+                    //primitive defaults are the field defaults, no needs to apply info.defaultValues
+                    ctor = (m) -> {
+                        try {
+                            var t = (T) ctorRef.newInstance(prop, functor, typeName, con, valid);
+                            if (m != null && !m.isEmpty())
+                                ((AsmFactory.Base) t).initial(m);
+                            return t;
+                        } catch (InstantiationException | InvocationTargetException | IllegalAccessException e) {
+                            Mimic.log.error("fail to build Mimic '{}' instance", cls, e);
+                            throw new RuntimeException(e);
+                        }
+                    };
+                }
+                return tuple(ctor, prop);
+            } catch (Exception e) {
+                Mimic.log.error("fail to build Mimic '{}' factory", cls, e);
+                throw e;
+
+            }
+        }
+
+        //(precompiled implement,properties)=>the implement has the same slots as the properties
+        static boolean matches(Class<?> precompiled, PropertiesInfo prop) {
+            var slots = Util.fetchStaticFieldValue(precompiled, AsmFactory.PROPERTIES);
+            return slots instanceof String[] && Arrays.equals((String[]) slots, prop.names());
+        }
+
+        //(implement,properties)=>field readers (self)->value indexed by slot
+        static MethodHandle[] loads(Class<?> impl, PropertiesInfo prop) throws ReflectiveOperationException {
+            var lookup = MethodHandles.privateLookupIn(impl, MethodHandles.lookup());
+            var slots = prop.slots();
+            var loads = new MethodHandle[slots.length];
+            for (var pi : slots) {
+                loads[pi.ordinal] = lookup.unreflectGetter(impl.getDeclaredField(pi.property))
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            }
+            return loads;
+        }
+
+        //(implement,properties)=>field writers (self,value)->void indexed by slot
+        static MethodHandle[] stores(Class<?> impl, PropertiesInfo prop) throws ReflectiveOperationException {
+            var lookup = MethodHandles.privateLookupIn(impl, MethodHandles.lookup());
+            var slots = prop.slots();
+            var stores = new MethodHandle[slots.length];
+            for (var pi : slots) {
+                stores[pi.ordinal] = lookup.unreflectSetter(impl.getDeclaredField(pi.property))
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            }
+            return stores;
+        }
+
+        //(implement,properties)=>field equality (self,self)->boolean indexed by slot, primitives are compared unboxed
+        static MethodHandle[] sames(Class<?> impl, PropertiesInfo prop) throws ReflectiveOperationException {
+            var lookup = MethodHandles.privateLookupIn(impl, MethodHandles.lookup());
+            var slots = prop.slots();
+            var sames = new MethodHandle[slots.length];
+            for (var pi : slots) {
+                var kind = kind(pi.type);
+                var load = lookup.unreflectGetter(impl.getDeclaredField(pi.property))
+                    .asType(MethodType.methodType(kind, Object.class));
+                var same = MethodHandles.lookup().findStatic(AsmFactory.class, "same", MethodType.methodType(boolean.class, kind, kind));
+                sames[pi.ordinal] = MethodHandles.filterArguments(same, 0, load, load);
+            }
+            return sames;
+        }
+
+        //field type=>type compared as, primitives are widened
+        static Class<?> kind(Class<?> type) {
+            if (!type.isPrimitive()) return Object.class;
+            if (type == boolean.class) return boolean.class;
+            if (type == float.class || type == double.class) return double.class;
+            return long.class;
+        }
+
+        //region field equality by kind
+        static boolean same(boolean a, boolean b) {
+            return a == b;
+        }
+
+        static boolean same(long a, long b) {
+            return a == b;
+        }
+
+        static boolean same(double a, double b) {
+            return Double.compare(a, b) == 0;
+        }
+
+        static boolean same(Object a, Object b) {
+            return Objects.deepEquals(a, b);
+        }
+        //endregion
+
+        //(info,implement)->functors of property (getter,setter) on interface methods, with field handles of the implement
+        static AsmFactory.FunctorInfo functor(MimicInfo info, Class<?> impl) throws ReflectiveOperationException {
+            var slots = info.getPropertyInfo();
+            final AsmFactory.FunctorInfo functor = AsmFactory.FunctorInfo.of(info.propertyInfo.size(),
+                stores(impl, slots), sames(impl, slots), loads(impl, slots));
+            for (var entry : info.propertyInfo.entrySet()) {
+                var prop = entry.getKey();
+                Tuple2<Function<Object, Object>, BiConsumer<Object, Object>> fn = tuple(null, null);
+                //getter
+                {
+                    var m = entry.getValue().v1;
+                    if (m != null) {
+                        fn = fn.map1($ -> {
+                            var n = Invoker.make(Ref.$.lookup, m).asBiFunction();
+                            return (i) -> n.apply(i, ZERO);
+                        });
+                    }
+                }
+                //setter
+                {
+                    var m = entry.getValue().v2;
+                    if (m != null) {
+                        fn = fn.map2($ -> {
+                            if (m.getReturnType().isAssignableFrom(Void.TYPE) || Void.class.isAssignableFrom(m.getReturnType())) {
+                                var n = Invoker.make(Ref.$.lookup, m).asBiConsumer();
+                                return (i, v) -> n.accept(i, new Object[]{v});
+                            } else {
+                                var n = Invoker.make(Ref.$.lookup, m).asBiFunction();
+                                return (i, v) -> n.apply(i, new Object[]{v});
+                            }
+
+                        });
+                    }
+                }
+                functor.put(prop, fn);
+            }
+            return functor;
+        }
+
+        //generate the implement class with ByteBuddy, or define the cached one
+        static Class<?> generate(Class<?> cls, MimicInfo info, String typeName) {
+            return classes.define(cls, typeName, AsmFactory.Base.class, () -> make(cls, info, typeName));
+        }
+
+        static DynamicType.Unloaded<?> make(Class<?> cls, MimicInfo info, String typeName) {
+            var faces = new ArrayList<>(Arrays.asList(cls.getInterfaces()));
+            faces.add(0, cls);
+            DynamicType.Builder<?> eager = new ByteBuddy()
+                .subclass(AsmFactory.Base.class)
+                .implement(cls)
+                .name(typeName);
+            //Map.Entry<String, Tuple3<Method, Method, PropertyInfo>>
+            for (var entry : info.propertyInfo.entrySet()) {
+                var prop = entry.getKey();
+                var typo = entry.getValue().v3.type;
+                var slot = entry.getValue().v3.ordinal;
+                //lock free mode: volatile fields, the changes are atomic
+                eager = eager.defineField(prop, typo, Modifier.PRIVATE | (info.concurrentMode == 2 ? Modifier.VOLATILE : 0));
+                //getter
+                {
+                    var m = entry.getValue().v1;
+                    if (m != null) {
+                        eager = eager.defineMethod(m.getName(), m.getReturnType(), Modifier.PUBLIC)
+                            .intercept(FieldAccessor.ofField(prop));
+                    }
+                }
+                //setter
+                {
+                    var m = entry.getValue().v2;
+                    if (m != null) {
+                        eager = m.getReturnType() == Void.TYPE ?
+                            eager.defineMethod(m.getName(), m.getReturnType(), Modifier.PUBLIC)
+                                .withParameters(Arrays.asList(m.getParameterTypes()))
+                                .intercept(MethodCall
+                                    .invoke(AsmFactory.Base.setter(m.getParameterTypes()[0]))
+                                    .with(slot).withArgument(0)
+                                    .andThen(FieldAccessor.ofField(prop).setsArgumentAt(0)))
+                            :
+                            eager.defineMethod(m.getName(), m.getReturnType(), Modifier.PUBLIC)
+                                .withParameters(Arrays.asList(m.getParameterTypes()))
+                                .intercept(
+                                    MethodCall
+                                        .invoke(AsmFactory.Base.setter(m.getParameterTypes()[0]))
+                                        .with(slot).withArgument(0)
+                                        .andThen(FieldAccessor.ofField(prop).setsArgumentAt(0))
+                                        .andThen(FixedValue.self())
+                                );
+                    }
+                }
+            }
+            //ignore default methods for no needs to generate
+            //extra method
+            eager = eager.defineMethod("validate", void.class, Visibility.PUBLIC)
+                .intercept(SuperMethodCall.INSTANCE.andThen(DefaultMethodCall.prioritize(faces)));
+            eager = eager.defineMethod("self", cls, Visibility.PROTECTED)
+                .intercept(FixedValue.self());
+            eager = eager.defineMethod("toString", String.class, Visibility.PUBLIC)
+                .intercept(SuperMethodCall.INSTANCE);
+            eager = eager.defineMethod("hashCode", int.class, Visibility.PUBLIC)
+                .intercept(SuperMethodCall.INSTANCE);
+            eager = eager.defineMethod("equals", boolean.class, Visibility.PUBLIC)
+                .withParameters(Object.class)
+                .intercept(SuperMethodCall.INSTANCE);
+            return eager.make();
+        }
+
+        Registry<Class, Factory> cache = Registry.of(AsmFactory::build);
+
+        static Factory build(Class<? extends Mimic> cls) {
+            if (!Mimic.class.isAssignableFrom(cls)) {
+                throw new IllegalStateException(cls + " is not a Mimic");
+            }
+            if (cls.isAnnotationPresent(Mimic.Immutable.class)) return ImmutableFactory.asm(cls);
+            final Tuple2<AsmFactory.AsmCreator, PropertiesInfo> t = buildInfo(cls);
+            return new AsmFactory.ByteBuddyFactory(t.v2, t.v1, cls);
+        }
+    }
+
+    interface PrecompiledFactory {
+        /**
+         * suffix of the implement class generated by annotation processor
+         */
+        String SUFFIX = "$Mimic";
+
+        static Factory build(Class<? extends Mimic> cls) {
+            if (!Mimic.class.isAssignableFrom(cls)) {
+                throw new IllegalStateException(cls + " is not a Mimic");
+            }
+            //immutable is never precompiled
+            var impl = cls.isAnnotationPresent(Mimic.Immutable.class) ? null : Util.fetchPrecompiled(cls, SUFFIX);
+            if (impl != null) {
+                var info = Factory.infoCache.get(cls);
+                if (info != null && !AsmFactory.matches(impl, info.getPropertyInfo())) {
+                    Mimic.log.warn("precompiled '{}' is outdated with {}, fallback to runtime generation, please recompile", impl, cls);
+                    impl = null;
+                }
+            }
+            if (impl == null) {
+                if (Mimic.log.isDebugEnabled()) Mimic.log.debug("no precompiled implement for {}, fallback to runtime generation", cls);
+                return Util.byteBuddyPresent ? AsmFactory.cache.get(cls) : ProxyFactory.cache.get(cls);
+            }
+            final Tuple2<AsmFactory.AsmCreator, PropertiesInfo> t = AsmFactory.buildInfo(cls, impl);
+            return new AsmFactory.ByteBuddyFactory(t.v2, t.v1, cls);
+        }
+
+        Registry<Class, Factory> cache = Registry.of(PrecompiledFactory::build);
+    }
+
+    /**
+     * implements of {@link Mimic.Immutable}, values are stored in getter form in a final array indexed by slot.
+     * <p>a setter creates a copy shares all other values, setters returns void are not supported.
+     */
+    interface ImmutableFactory {
+        /**
+         * shared state of instances of a type.
+         */
+        final class Shape {
+            final Class<?> type;
+            final String name;
+            final PropertiesInfo info;
+            final PropertyInfo[] slots;
+            final Validation validator;
+            final Function<String, String> extract;
+            //initial values, defaults of primitive properties
+            final Object[] zeros;
+            //(values)=>instance, set by the factory
+            Function<Object[], Mimic> creator;
+
+            Shape(Class<?> type, String name, MimicInfo info) {
+                this.type = type;
+                this.name = name;
+                this.info = info.getPropertyInfo();
+                this.slots = this.info.slots();
+                this.validator = info.validation;
+                this.extract = info.strategy.extract;
+                this.zeros = new Object[slots.length];
+                for (var pi : slots) {
+                    if (pi.type.isPrimitive()) zeros[pi.ordinal] = Array.get(Array.newInstance(pi.type, 1), 0);
+                }
+            }
+
+            //values in storage form to getter form, converted only once
+            Object[] values(Map<String, Object> data) {
+                var values = zeros.clone();
+                if (data != null) {
+                    for (var e : data.entrySet()) {
+                        var pi = info.get(e.getKey());
+                        if (pi == null || e.getValue() == null) continue;
+                        values[pi.ordinal] = pi.invokeGetter(e.getValue());
+                    }
+                }
+                return values;
+            }
+
+            Mimic create(Map<String, Object> data) {
+                return creator.apply(values(data));
+            }
+        }
+
+        /**
+         * values of an instance.
+         */
+        class Frozen {
+            protected final Shape shape;
+            protected final Object[] values;
+            private int hash;
+            private Map<String, Object> view;
+
+            protected Frozen(Shape shape, Object[] values) {
+                this.shape = shape;
+                this.values = values;
+            }
+
+            protected Object get(int slot) {
+                return values[slot];
+            }
+
+            //copy with one value changed
+            protected Mimic with(int slot, Object value) {
+                shape.slots[slot].validateSetter(value);
+                var copy = values.clone();
+                copy[slot] = value;
+                return shape.creator.apply(copy);
+            }
+
+            //read only view in storage form
+            Map<String, Object> map() {
+                var v = view;
+                if (v == null) {
+                    var m = new HashMap<String, Object>(values.length * 2);
+                    for (var pi : shape.slots) {
+                        var x = values[pi.ordinal];
+                        if (x != null) m.put(pi.property, pi.invokeSetter(x));
+                    }
+                    view = v = Collections.unmodifiableMap(m);
+                }
+                return v;
+            }
+
+            int hash() {
+                var h = hash;
+                if (h == 0) hash = h = Arrays.hashCode(values);
+                return h;
+            }
+
+            boolean same(Frozen other) {
+                return other.shape == shape && other.hash() == hash() && Arrays.equals(other.values, values);
+            }
+
+            void check() {
+                if (shape.validator != null) shape.validator.check(pi -> values[pi.ordinal]);
+            }
+
+            String describe() {
+                return shape.name + "@" + Integer.toHexString(hash()) + map();
+            }
+        }
+
+        //region ASM
+
+        /**
+         * base of generated immutable Mimic.
+         */
+        abstract class Base extends Frozen implements Mimic {
+            protected Base(Shape shape, Object[] values) {
+                super(shape, values);
+            }
+
+            @Override
+            public @NotNull Map<String, Object> underlyingMap() {
+                return map();
+            }
+
+            @Override
+            public @NotNull Set<String> underlyingChangedProperties() {
+                return Collections.emptySet();
+            }
+
+            @Override
+            public void validate() throws IllegalStateException {
+                check();
+            }
+
+            @Override
+            public int hashCode() {
+                return hash();
+            }
+
+            @Override
+            public boolean equals(Object obj) {
+                return obj instanceof Frozen && same((Frozen) obj);
+            }
+
+            @Override
+            public String toString() {
+                return describe();
+            }
+
+            static final Method GET;
+            static final Method WITH;
+
+            static {
+                try {
+                    GET = Frozen.class.getDeclaredMethod("get", int.class);
+                    WITH = Frozen.class.getDeclaredMethod("with", int.class, Object.class);
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        static Factory asm(Class<? extends Mimic> cls) {
+            var info = Factory.infoCache.get(cls);
+            if (info == null) throw new IllegalStateException("could not generate mimic info from " + cls);
+            var name = classes.nameOf(cls);
+            var shape = new Shape(cls, name, info);
+            try {
+                var ctor = classes.define(cls, name, Base.class, () -> make(cls, info, name))
+                    .getConstructor(Shape.class, Object[].class);
+                shape.creator = values -> {
+                    try {
+                        return (Mimic) ctor.newInstance(shape, values);
+                    } catch (InstantiationException | InvocationTargetException | IllegalAccessException e) {
+                        Mimic.log.error("fail to build Mimic '{}' instance", cls, e);
+                        throw new IllegalStateException(e);
+                    }
+                };
+            } catch (NoSuchMethodException e) {
+                Mimic.log.error("fail to build Mimic '{}' factory", cls, e);
+                throw new IllegalStateException(e);
+            }
+            return of(shape);
+        }
+
+        static DynamicType.Unloaded<?> make(Class<?> cls, MimicInfo info, String typeName) {
+            var faces = new ArrayList<>(Arrays.asList(cls.getInterfaces()));
+            faces.add(0, cls);
+            DynamicType.Builder<?> eager = new ByteBuddy()
+                .subclass(Base.class)
+                .implement(cls)
+                .name(typeName);
+            for (var entry : info.propertyInfo.entrySet()) {
+                var slot = entry.getValue().v3.ordinal;
+                //getter
+                {
+                    var m = entry.getValue().v1;
+                    if (m != null) {
+                        eager = eager.defineMethod(m.getName(), m.getReturnType(), Modifier.PUBLIC)
+                            .intercept(MethodCall.invoke(Base.GET).with(slot)
+                                .withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC));
+                    }
+                }
+                //setter
+                {
+                    var m = entry.getValue().v2;
+                    if (m != null) {
+                        eager = eager.defineMethod(m.getName(), m.getReturnType(), Modifier.PUBLIC)
+                            .withParameters(Arrays.asList(m.getParameterTypes()))
+                            .intercept(m.getReturnType() == Void.TYPE
+                                ? ExceptionMethod.throwing(UnsupportedOperationException.class,
+                                "setter '" + m.getName() + "' of immutable " + cls.getName() + " must returns self")
+                                : MethodCall.invoke(Base.WITH).with(slot).withArgument(0)
+                                .withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC));
+                    }
+                }
+            }
+            eager = eager.defineMethod("validate", void.class, Visibility.PUBLIC)
+                .intercept(SuperMethodCall.INSTANCE.andThen(DefaultMethodCall.prioritize(faces)));
+            eager = eager.defineMethod("toString", String.class, Visibility.PUBLIC)
+                .intercept(SuperMethodCall.INSTANCE);
+            eager = eager.defineMethod("hashCode", int.class, Visibility.PUBLIC)
+                .intercept(SuperMethodCall.INSTANCE);
+            eager = eager.defineMethod("equals", boolean.class, Visibility.PUBLIC)
+                .withParameters(Object.class)
+                .intercept(SuperMethodCall.INSTANCE);
+            return eager.make();
+        }
+        //endregion
+
+        //region Proxy
+        @FunctionalInterface
+        interface Handler {
+            Object invoke(ProxyInstance self, Object[] args) throws Throwable;
+        }
+
+        final class ProxyInstance extends Frozen implements InvocationHandler {
+            final Map<Method, Handler> handlers;
+            Mimic proxy;
+
+            ProxyInstance(Shape shape, Object[] values, Map<Method, Handler> handlers) {
+                super(shape, values);
+                this.handlers = handlers;
+            }
+
+            @Override
+            public Object invoke(Object p, Method m, Object[] args) throws Throwable {
+                var h = handlers.get(m);
+                if (h == null) h = handlers.computeIfAbsent(m, x -> handler(shape, x));
+                return h.invoke(this, args);
+            }
+        }
+
+        static Factory proxy(Class<? extends Mimic> cls) {
+            var info = Factory.infoCache.get(cls);
+            if (info == null) throw new IllegalStateException("could not generate mimic info from " + cls);
+            var shape = new Shape(cls, cls.getCanonicalName() + "$Proxy", info);
+            final Map<Method, Handler> handlers = new ConcurrentHashMap<>();
+            for (Method m : cls.getMethods()) {
+                if (Modifier.isStatic(m.getModifiers())) continue;
+                handlers.put(m, handler(shape, m));
+            }
+            shape.creator = values -> {
+                var h = new ProxyInstance(shape, values, handlers);
+                h.proxy = (Mimic) Proxy.newProxyInstance(cls.getClassLoader(), new Class[]{cls}, h);
+                return h.proxy;
+            };
+            return of(shape);
+        }
+
+        //resolve the action of a method
+        static Handler handler(Shape shape, Method m) {
+            var method = m.getName();
+            switch (method) {
+                case "toString":
+                    return (s, args) -> s.describe();
+                case "hashCode":
+                    return (s, args) -> s.hash();
+                case "equals":
+                    return (s, args) -> args[0] != null && Proxy.isProxyClass(args[0].getClass())
+                        && Proxy.getInvocationHandler(args[0]) instanceof ProxyInstance
+                        && s.same((ProxyInstance) Proxy.getInvocationHandler(args[0]));
+                case "underlyingMap": //special method
+                    return (s, args) -> s.map();
+                case "underlyingChangedProperties": //special method
+                    return (s, args) -> Collections.emptySet();
+                default:
+                    break;
+            }
+            if (m.isDefault()) {
+                var invoker = Util.fetchDefaultInvoker(m.getDeclaringClass(), m);
+                var validate = method.equals("validate") && m.getParameterCount() == 0;
+                return (s, args) -> {
+                    if (validate) s.check();
+                    return (Object) invoker.invokeExact((Object) s.proxy, args);
+                };
+            }
+            var field = shape.extract.apply(method);
+            var pi = field.isEmpty() ? null : shape.info.get(field);
+            if (pi != null && m.getParameterCount() == 0 && m.getReturnType() != Void.TYPE) { //must a getter
+                var slot = pi.ordinal;
+                return (s, args) -> s.get(slot);
+            }
+            if (pi != null && m.getParameterCount() == 1) { //must a setter
+                var slot = pi.ordinal;
+                if (m.getReturnType().isAssignableFrom(shape.type)) return (s, args) -> s.with(slot, args[0]);
+                if (m.getReturnType() == Void.TYPE) return (s, args) -> {
+                    throw new UnsupportedOperationException("setter '" + method + "' of immutable " + shape.type.getName() + " must returns self");
+                };
+            }
+            return (s, args) -> {
+                throw new IllegalStateException("can not process method '" + m + "': with args" + Arrays.toString(args));
+            };
+        }
+        //endregion
+
+        static Factory of(Shape shape) {
+            return new Factory() {
+                @Override
+                public Mimic build(Map<String, Object> data) {
+                    return shape.create(data);
+                }
+
+                @Override
+                public Mimic buildSlots(Object[] values) {
+                    for (int i = 0; i < values.length; i++) {
+                        if (values[i] == null) values[i] = shape.zeros[i];
+                    }
+                    return shape.creator.apply(values);
+                }
+
+                @Override
+                public Mimic copy(Mimic source) {
+                    var h = mimics.handler(source);
+                    if (h instanceof Frozen && ((Frozen) h).shape == shape) return source;
+                    return Factory.super.copy(source);
+                }
+
+                @Override
+                public PropertiesInfo properties() {
+                    return shape.info;
+                }
+            };
+        }
+    }
+
+
+    static final AtomicReference<Function<Class, Factory>> factory = new AtomicReference<>();
+
+
+    /**
+     * typed handle of a resolved {@link Factory}.
+     */
+    static final class TypedFactory<T extends Mimic> implements Mimic.MimicFactory<T> {
+        final Class<T> type;
+        final Factory factory;
+        final List<String> properties;
+        final Map<String, Class<?>> types;
+
+        TypedFactory(Class<T> type, Factory factory) {
+            this.type = type;
+            this.factory = factory;
+            var info = factory.properties();
+            this.properties = List.of(info.names());
+            var types = new LinkedHashMap<String, Class<?>>(info.size());
+            for (var slot : info.slots()) types.put(slot.property, (Class<?>) slot.type);
+            this.types = Collections.unmodifiableMap(types);
+        }
+
+        @Override
+        public Class<T> type() {
+            return type;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T create(Map<String, Object> data) {
+            return (T) factory.build(data);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public List<T> createAll(Iterable<? extends Map<String, Object>> data) {
+            return (List<T>) (List<?>) factory.buildAll(data);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T copy(T source) {
+            return (T) factory.copy(source);
+        }
+
+        @Override
+        public Mimic.Patch<T> diff(T from, T to) {
+            return Patch.diff(type, factory.properties(), from, to);
+        }
+
+        @Override
+        public T merge(T target, Mimic source, boolean onlyChanged) {
+            mimics.merge(target, source, onlyChanged);
+            return target;
+        }
+
+        @Override
+        public T reset(T instance, Map<String, Object> data) {
+            mimics.reset(instance, data);
+            return instance;
+        }
+
+        @Override
+        public List<String> properties() {
+            return properties;
+        }
+
+        @Override
+        public Map<String, Class<?>> types() {
+            return types;
+        }
+
+        @Override
+        public String toString() {
+            return "MimicFactory[" + type.getName() + "]" + types;
+        }
+    }
+
+    @SuppressWarnings({"rawtypes"})
+    static Factory factoryOf(Class type) {
+        return Objects.requireNonNull(factory.get(), "not configurer Mimic Factory mode ").apply(type);
+    }
+
+    @SuppressWarnings({"rawtypes"})
+    static Mimic instance(Class type, Map<String, Object> map) {
+        return factoryOf(type).build(map);
+    }
+
+    //(instance)=>invocation handler of a proxy, or the instance itself
+    static Object handler(Mimic m) {
+        return Proxy.isProxyClass(m.getClass()) ? Proxy.getInvocationHandler(m) : m;
+    }
+
+    /**
+     * marks a slot not to assign
+     */
+    static final Object SKIP = new Object();
+
+    //(target,source,onlyChanged)=>target with values of source
+    //null values of a source in another type are skipped, as they may be absent properties
+    static Mimic merge(Mimic target, Mimic source, boolean onlyChanged) {
+        if (target == source) return target;
+        var o = handler(target);
+        var slots = writable(o, target).slots();
+        //same implement shares validation, values are valid already
+        var trusted = target.getClass() == source.getClass();
+        var changed = onlyChanged ? source.underlyingChangedProperties() : null;
+        var read = codecs.reader(source);
+        var values = new Object[slots.length];
+        for (var pi : slots) {
+            Object v = SKIP;
+            if (changed == null || changed.contains(pi.property)) {
+                v = read.apply(pi);
+                if (v == null && changed == null && !trusted) v = SKIP;
+            }
+            values[pi.ordinal] = v;
+        }
+        assign(o, values, trusted);
+        return target;
+    }
+
+    //(handler,instance)=>properties of a mutable instance
+    static PropertiesInfo writable(Object o, Mimic m) {
+        if (o instanceof AsmFactory.Base) {
+            return ((AsmFactory.Base) o).info;
+        } else if (o instanceof ProxyFactory.ProxyInstance) {
+            return ((ProxyFactory.ProxyInstance) o).factory.prop;
+        } else if (o instanceof ImmutableFactory.Frozen) {
+            throw new IllegalStateException("immutable " + m.getClass().getName() + " can not be changed");
+        }
+        throw new IllegalStateException(m.getClass().getName() + " can not be changed");
+    }
+
+    //(handler,values indexed by slot,trusted)=>values set, SKIP values are ignored
+    static void assign(Object o, Object[] values, boolean trusted) {
+        if (o instanceof AsmFactory.Base) ((AsmFactory.Base) o).assign(values, trusted);
+        else ((ProxyFactory.ProxyInstance) o).assign(values, trusted);
+    }
+
+    /**
+     * changed values between two instances of a type, as a bitmask of slots and the new values in slot order.
+     */
+    static final class Patch<T extends Mimic> implements Mimic.Patch<T> {
+        final Class<T> type;
+        final PropertiesInfo info;
+        final long[] mask;
+        //new values in getter form of changed slots
+        final Object[] values;
+        //implement of the instances, null if they are not the same
+        final Class<?> origin;
+
+        Patch(Class<T> type, PropertiesInfo info, long[] mask, Object[] values, Class<?> origin) {
+            this.type = type;
+            this.info = info;
+            this.mask = mask;
+            this.values = values;
+            this.origin = origin;
+        }
+
+        //(type,properties,from,to)=>patch turns from into to
+        static <T extends Mimic> Patch<T> diff(Class<T> type, PropertiesInfo info, Mimic from, Mimic to) {
+            var slots = info.slots();
+            var same = same(from, to);
+            var b = codecs.reader(to);
+            var mask = new long[(slots.length + 63) >>> 6];
+            var changed = new Object[slots.length];
+            var n = 0;
+            for (var pi : slots) {
+                if (same.test(pi)) continue;
+                mask[pi.ordinal >>> 6] |= 1L << pi.ordinal;
+                changed[n++] = b.apply(pi);
+            }
+            return new Patch<>(type, info, mask, n == changed.length ? changed : Arrays.copyOf(changed, n),
+                from.getClass() == to.getClass() ? to.getClass() : null);
+        }
+
+        //(from,to)=>property holds the same value, compared on storage of instances in the same implement
+        static Predicate<PropertyInfo> same(Mimic from, Mimic to) {
+            var x = handler(from);
+            var y = handler(to);
+            if (from.getClass() == to.getClass()) {
+                if (x instanceof AsmFactory.Base) {
+                    var a = (AsmFactory.Base) x;
+                    var b = (AsmFactory.Base) y;
+                    var slots = a.slots;
+                    return pi -> a.same(b, pi.ordinal < slots.length && slots[pi.ordinal] == pi ? pi.ordinal : a.info.get(pi.property).ordinal);
+                }
+                if (x instanceof ImmutableFactory.Frozen) {
+                    var a = (ImmutableFactory.Frozen) x;
+                    var b = (ImmutableFactory.Frozen) y;
+                    return pi -> {
+                        var k = a.shape.info.get(pi.property).ordinal;
+                        return Objects.deepEquals(a.values[k], b.values[k]);
+                    };
+                }
+                if (x instanceof ProxyFactory.ProxyInstance) {
+                    var a = (ProxyFactory.ProxyInstance) x;
+                    var b = (ProxyFactory.ProxyInstance) y;
+                    return pi -> {
+                        var u = a.map.get(pi.property);
+                        var v = b.map.get(pi.property);
+                        return Objects.deepEquals(u == null ? pi.zero : u, v == null ? pi.zero : v);
+                    };
+                }
+            }
+            var a = codecs.reader(from);
+            var b = codecs.reader(to);
+            return pi -> Objects.deepEquals(a.apply(pi), b.apply(pi));
+        }
+
+        @Override
+        public Class<T> type() {
+            return type;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return values.length == 0;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public List<String> properties() {
+            var names = info.names();
+            var list = new ArrayList<String>(values.length);
+            for (int w = 0; w < mask.length; w++) {
+                for (var bits = mask[w]; bits != 0; bits &= bits - 1) list.add(names[(w << 6) + Long.numberOfTrailingZeros(bits)]);
+            }
+            return list;
+        }
+
+        @Override
+        public boolean contains(String property) {
+            var pi = info.get(property);
+            return pi != null && (mask[pi.ordinal >>> 6] & (1L << pi.ordinal)) != 0;
+        }
+
+        @Override
+        public Object value(String property) {
+            var pi = info.get(property);
+            if (pi == null) return null;
+            var w = pi.ordinal >>> 6;
+            var bit = 1L << pi.ordinal;
+            if ((mask[w] & bit) == 0) return null;
+            //rank of the slot in changed slots
+            var k = Long.bitCount(mask[w] & (bit - 1));
+            for (int i = 0; i < w; i++) k += Long.bitCount(mask[i]);
+            return values[k];
+        }
+
+        @Override
+        public T applyTo(T target) {
+            if (values.length == 0) return target;
+            var o = handler(target);
+            var ti = writable(o, target);
+            var slots = info.slots();
+            var ts = ti.slots();
+            var v = new Object[ts.length];
+            Arrays.fill(v, SKIP);
+            var k = 0;
+            for (int w = 0; w < mask.length; w++) {
+                for (var bits = mask[w]; bits != 0; bits &= bits - 1) {
+                    var pi = slots[(w << 6) + Long.numberOfTrailingZeros(bits)];
+                    //target may be a sub type with other slots
+                    var tp = pi.ordinal < ts.length && ts[pi.ordinal] == pi ? pi : ti.get(pi.property);
+                    if (tp == null)
+                        throw new IllegalArgumentException("patch of " + type.getName() + " changes '" + pi.property + "', which is not a property of " + target.getClass().getName());
+                    v[tp.ordinal] = values[k++];
+                }
+            }
+            assign(o, v, origin == target.getClass());
+            return target;
+        }
+
+        @Override
+        public String toString() {
+            var b = new StringBuilder(type.getSimpleName()).append("$Patch{");
+            var names = properties();
+            for (int i = 0; i < names.size(); i++) {
+                if (i > 0) b.append(", ");
+                b.append(names.get(i)).append('=').append(values[i]);
+            }
+            return b.append('}').toString();
+        }
+    }
+
+    //(instance)=>changed properties validated, instances without changes have nothing to validate
+    static void validateChanged(Mimic m) throws IllegalStateException {
+        var o = handler(m);
+        if (o instanceof AsmFactory.Base) ((AsmFactory.Base) o).validateChanged();
+        else if (o instanceof ProxyFactory.ProxyInstance) ((ProxyFactory.ProxyInstance) o).validateChanged();
+    }
+
+    //(instance,data in storage form)=>instance rebound to data
+    static Mimic reset(Mimic m, Map<String, Object> data) {
+        var o = handler(m);
+        if (o instanceof AsmFactory.Base) {
+            ((AsmFactory.Base) o).reset(data);
+        } else if (o instanceof ProxyFactory.ProxyInstance) {
+            ((ProxyFactory.ProxyInstance) o).reset(data);
+        } else if (o instanceof ImmutableFactory.Frozen) {
+            throw new IllegalStateException("immutable " + m.getClass().getName() + " can not be reset");
+        } else {
+            throw new IllegalStateException(m.getClass().getName() + " can not be reset");
+        }
+        return m;
+    }
+
+    /**
+     * idle instances of a type, not thread safe.
+     */
+    static final class Pool<T extends Mimic> implements Mimic.Pool<T> {
+        final Mimic.MimicFactory<T> factory;
+        final Object[] idle;
+        int size;
+
+        Pool(Mimic.MimicFactory<T> factory, int capacity) {
+            if (capacity <= 0) throw new IllegalArgumentException("capacity of pool must be positive: " + capacity);
+            this.factory = factory;
+            this.idle = new Object[capacity];
+        }
+
+        @Override
+        public Class<T> type() {
+            return factory.type();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T acquire(Map<String, Object> data) {
+            if (size == 0) return factory.create(data);
+            var m = (T) idle[--size];
+            idle[size] = null;
+            return factory.reset(m, data);
+        }
+
+        @Override
+        public boolean release(T instance) {
+            if (instance == null || size == idle.length || !factory.type().isInstance(instance)) return false;
+            var o = handler(instance);
+            if (!(o instanceof AsmFactory.Base) && !(o instanceof ProxyFactory.ProxyInstance)) return false;
+            idle[size++] = instance;
+            return true;
+        }
+
+        @Override
+        public int idle() {
+            return size;
+        }
+    }
+
+    //region warm up
+
+    //(types,pool)=>elapsed of each type, failed types are logged and absent
+    static Map<Class<?>, Duration> warmUp(ForkJoinPool pool, Collection<? extends Class<?>> types) {
+        var tasks = new LinkedHashMap<Class<?>, ForkJoinTask<Duration>>();
+        for (var t : types) {
+            if (!tasks.containsKey(t)) tasks.put(t, pool.submit(() -> warmUpType(t)));
+        }
+        var result = new LinkedHashMap<Class<?>, Duration>();
+        tasks.forEach((t, task) -> {
+            try {
+                var d = task.join();
+                if (Mimic.log.isDebugEnabled()) Mimic.log.debug("warm up {} in {}", t, d);
+                result.put(t, d);
+            } catch (Exception e) {
+                Mimic.log.error("fail to warm up '{}'", t, e);
+            }
+        });
+        return result;
+    }
+
+    //warm up information and factory of current mode
+    static Duration warmUpType(Class<?> type) {
+        var start = System.nanoTime();
+        if (Mimic.Dao.class.isAssignableFrom(type)) {
+            daos.warmUp(type);
+        } else if (Mimic.class.isAssignableFrom(type)) {
+            Factory.infoCache.get(type);
+            if (factory.get() != null) factoryOf(type);
+        } else {
+            throw new IllegalArgumentException(type + " is neither a Mimic nor a Dao");
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+    //endregion
+
+}
@@ -0,0 +1,732 @@
+package cn.zenliu.java.mimic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.DefaultMethodCall;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.SuperMethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.*;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * implements of {@link Mimic.MimicTable}.
+ * <p>values are stored in getter form, primitive properties in primitive arrays, others in object arrays.
+ *
+ * @author Zen.Liu
+ * @since 2026-10-17
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class tables {
+    private tables() {
+        throw new IllegalAccessError();
+    }
+
+    //region kinds of column
+    static final byte OBJECT = 0;
+    static final byte LONG = 1;
+    static final byte INT = 2;
+    static final byte SHORT = 3;
+    static final byte BYTE = 4;
+    static final byte CHAR = 5;
+    static final byte DOUBLE = 6;
+    static final byte FLOAT = 7;
+    static final byte BOOLEAN = 8;
+
+    static byte kindOf(Class<?> type) {
+        if (!type.isPrimitive()) return OBJECT;
+        if (type == long.class) return LONG;
+        if (type == int.class) return INT;
+        if (type == short.class) return SHORT;
+        if (type == byte.class) return BYTE;
+        if (type == char.class) return CHAR;
+        if (type == double.class) return DOUBLE;
+        if (type == float.class) return FLOAT;
+        return BOOLEAN;
+    }
+    //endregion
+
+    /**
+     * shared state of tables of a type.
+     */
+    static final class Layout {
+        final Class<?> type;
+        final String name;
+        final mimics.PropertiesInfo info;
+        final mimics.PropertyInfo[] slots;
+        final byte[] kinds;
+        final mimics.Validation validator;
+        final Function<String, String> extract;
+        //(table,row)=>view
+        BiFunction<Table, Integer, View> viewer;
+
+        Layout(Class<?> type, mimics.MimicInfo info) {
+            this.type = type;
+            this.name = type.getCanonicalName() + "$View";
+            this.info = info.getPropertyInfo();
+            this.slots = this.info.slots();
+            this.validator = info.validation;
+            this.extract = info.strategy.extract;
+            this.kinds = new byte[slots.length];
+            for (var pi : slots) kinds[pi.ordinal] = kindOf(pi.type);
+        }
+
+        //(slot)=>property
+        mimics.PropertyInfo slot(String property) {
+            var pi = info.get(property);
+            if (pi == null) throw new IllegalArgumentException("'" + property + "' is not a property of " + type.getName());
+            return pi;
+        }
+    }
+
+    static final mimics.Registry<Class, Layout> layouts = mimics.Registry.of(tables::layout);
+
+    static Layout layout(Class<?> type) {
+        if (!Mimic.class.isAssignableFrom(type)) throw new IllegalStateException(type + " is not a Mimic");
+        if (type.isAnnotationPresent(Mimic.Immutable.class))
+            throw new IllegalStateException("immutable " + type + " is not supported by table");
+        var info = mimics.Factory.infoCache.get(type);
+        if (info == null) throw new IllegalStateException("could not generate mimic info from " + type);
+        var layout = new Layout(type, info);
+        try {
+            layout.viewer = Util.byteBuddyPresent ? Asm.viewer(layout, info) : ProxyView.viewer(layout);
+        } catch (Exception e) {
+            Mimic.log.error("fail to build view of table for '{}'", type, e);
+            throw new IllegalStateException(e);
+        }
+        return layout;
+    }
+
+    public static final class Table<T extends Mimic> implements Mimic.MimicTable<T> {
+        final Layout layout;
+        //columns indexed by slot
+        final Object[] columns;
+        int size;
+        int capacity;
+
+        Table(Class<T> type, int capacity) {
+            this.layout = layouts.get(type);
+            this.capacity = Math.max(capacity, 1);
+            this.columns = new Object[layout.slots.length];
+            for (var pi : layout.slots) columns[pi.ordinal] = Array.newInstance(pi.type, this.capacity);
+        }
+
+        @Override
+        public @NotNull Class<T> type() {
+            return (Class<T>) layout.type;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int add(Map<String, Object> data) {
+            //values are validated as the setters do, before the row is appended
+            Object[] values = null;
+            if (data != null && !data.isEmpty()) {
+                values = new Object[layout.slots.length];
+                for (var e : data.entrySet()) {
+                    var pi = layout.info.get(e.getKey());
+                    if (pi == null || e.getValue() == null) continue;
+                    var v = pi.invokeGetter(e.getValue());
+                    pi.validateSetter(v);
+                    values[pi.ordinal] = v;
+                }
+            }
+            if (size == capacity) grow();
+            var row = size++;
+            if (values != null) {
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] != null) write(i, row, values[i]);
+                }
+            }
+            return row;
+        }
+
+        @Override
+        public int add(@NotNull T value) {
+            return add(value.underlyingMap());
+        }
+
+        @Override
+        public @NotNull T get(int row) {
+            Objects.checkIndex(row, size);
+            return (T) layout.viewer.apply(this, row).self();
+        }
+
+        @Override
+        public @NotNull Cursor<T> cursor() {
+            return new TableCursor<>(this, layout.viewer.apply(this, -1));
+        }
+
+        @Override
+        public void forEach(@NotNull Consumer<? super T> action) {
+            var view = layout.viewer.apply(this, 0);
+            var self = (T) view.self();
+            for (int i = 0; i < size; i++) {
+                view.row = i;
+                action.accept(self);
+            }
+        }
+
+        @Override
+        public @NotNull LongStream longs(@NotNull String property) {
+            var pi = layout.slot(property);
+            var c = columns[pi.ordinal];
+            switch (layout.kinds[pi.ordinal]) {
+                case LONG:
+                    return Arrays.stream((long[]) c, 0, size);
+                case INT:
+                    return Arrays.stream((int[]) c, 0, size).asLongStream();
+                default:
+                    return IntStream.range(0, size).mapToLong(longs(pi));
+            }
+        }
+
+        @Override
+        public @NotNull DoubleStream doubles(@NotNull String property) {
+            var pi = layout.slot(property);
+            switch (layout.kinds[pi.ordinal]) {
+                case DOUBLE:
+                    return Arrays.stream((double[]) columns[pi.ordinal], 0, size);
+                case FLOAT:
+                    var c = (float[]) columns[pi.ordinal];
+                    return IntStream.range(0, size).mapToDouble(i -> c[i]);
+                default:
+                    return longs(property).asDoubleStream();
+            }
+        }
+
+        @Override
+        public @NotNull Stream<Object> values(@NotNull String property) {
+            var slot = layout.slot(property).ordinal;
+            return IntStream.range(0, size).mapToObj(i -> read(slot, i));
+        }
+
+        @Override
+        public @NotNull IntStream filterLong(@NotNull String property, @NotNull LongPredicate predicate) {
+            var pi = layout.slot(property);
+            if (layout.kinds[pi.ordinal] == LONG) {
+                var c = (long[]) columns[pi.ordinal];
+                return IntStream.range(0, size).filter(i -> predicate.test(c[i]));
+            }
+            var f = longs(pi);
+            return IntStream.range(0, size).filter(i -> predicate.test(f.applyAsLong(i)));
+        }
+
+        @Override
+        public @NotNull IntStream filterDouble(@NotNull String property, @NotNull DoublePredicate predicate) {
+            var pi = layout.slot(property);
+            switch (layout.kinds[pi.ordinal]) {
+                case DOUBLE: {
+                    var c = (double[]) columns[pi.ordinal];
+                    return IntStream.range(0, size).filter(i -> predicate.test(c[i]));
+                }
+                case FLOAT: {
+                    var c = (float[]) columns[pi.ordinal];
+                    return IntStream.range(0, size).filter(i -> predicate.test(c[i]));
+                }
+                default:
+                    var f = longs(pi);
+                    return IntStream.range(0, size).filter(i -> predicate.test(f.applyAsLong(i)));
+            }
+        }
+
+        @Override
+        public @NotNull IntStream filter(@NotNull String property, @NotNull Predicate<Object> predicate) {
+            var slot = layout.slot(property).ordinal;
+            return IntStream.range(0, size).filter(i -> predicate.test(read(slot, i)));
+        }
+
+        @Override
+        public void clear() {
+            for (var pi : layout.slots) {
+                if (layout.kinds[pi.ordinal] == OBJECT) Arrays.fill((Object[]) columns[pi.ordinal], 0, size, null);
+                else {
+                    var c = columns[pi.ordinal];
+                    System.arraycopy(Array.newInstance(pi.type, size), 0, c, 0, size);
+                }
+            }
+            size = 0;
+        }
+
+        //(integral column)=>reader
+        IntToLongFunction longs(mimics.PropertyInfo pi) {
+            var c = columns[pi.ordinal];
+            switch (layout.kinds[pi.ordinal]) {
+                case LONG:
+                    return i -> ((long[]) c)[i];
+                case INT:
+                    return i -> ((int[]) c)[i];
+                case SHORT:
+                    return i -> ((short[]) c)[i];
+                case BYTE:
+                    return i -> ((byte[]) c)[i];
+                case CHAR:
+                    return i -> ((char[]) c)[i];
+                default:
+                    throw new IllegalArgumentException("'" + pi.property + "' of " + pi.type + " is not an integral column");
+            }
+        }
+
+        void grow() {
+            var n = capacity << 1;
+            for (var pi : layout.slots) {
+                var c = Array.newInstance(pi.type, n);
+                System.arraycopy(columns[pi.ordinal], 0, c, 0, size);
+                columns[pi.ordinal] = c;
+            }
+            capacity = n;
+        }
+
+        //read value of row in getter form
+        Object read(int slot, int row) {
+            var c = columns[slot];
+            switch (layout.kinds[slot]) {
+                case LONG:
+                    return ((long[]) c)[row];
+                case INT:
+                    return ((int[]) c)[row];
+                case SHORT:
+                    return ((short[]) c)[row];
+                case BYTE:
+                    return ((byte[]) c)[row];
+                case CHAR:
+                    return ((char[]) c)[row];
+                case DOUBLE:
+                    return ((double[]) c)[row];
+                case FLOAT:
+                    return ((float[]) c)[row];
+                case BOOLEAN:
+                    return ((boolean[]) c)[row];
+                default:
+                    return ((Object[]) c)[row];
+            }
+        }
+
+        //write value of row in getter form, null of primitive is zero
+        void write(int slot, int row, Object value) {
+            var c = columns[slot];
+            var kind = layout.kinds[slot];
+            if (kind == OBJECT) {
+                ((Object[]) c)[row] = value;
+                return;
+            }
+            var v = value == null ? null : layout.slots[slot].coerce(value);
+            switch (kind) {
+                case LONG:
+                    ((long[]) c)[row] = v == null ? 0 : (Long) v;
+                    break;
+                case INT:
+                    ((int[]) c)[row] = v == null ? 0 : (Integer) v;
+                    break;
+                case SHORT:
+                    ((short[]) c)[row] = v == null ? 0 : (Short) v;
+                    break;
+                case BYTE:
+                    ((byte[]) c)[row] = v == null ? 0 : (Byte) v;
+                    break;
+                case CHAR:
+                    ((char[]) c)[row] = v == null ? 0 : (Character) v;
+                    break;
+                case DOUBLE:
+                    ((double[]) c)[row] = v == null ? 0 : (Double) v;
+                    break;
+                case FLOAT:
+                    ((float[]) c)[row] = v == null ? 0 : (Float) v;
+                    break;
+                default:
+                    ((boolean[]) c)[row] = v != null && (Boolean) v;
+            }
+        }
+
+        //copy of row in storage form
+        Map<String, Object> map(int row) {
+            var m = new HashMap<String, Object>(layout.slots.length * 2);
+            for (var pi : layout.slots) {
+                var x = read(pi.ordinal, row);
+                if (x != null) m.put(pi.property, pi.invokeSetter(x));
+            }
+            return m;
+        }
+
+        @Override
+        public String toString() {
+            return layout.type.getCanonicalName() + "$Table[" + size + "]";
+        }
+    }
+
+    static final class TableCursor<T extends Mimic> implements Mimic.MimicTable.Cursor<T> {
+        final Table<T> table;
+        final View view;
+        final T self;
+
+        TableCursor(Table<T> table, View view) {
+            this.table = table;
+            this.view = view;
+            this.self = (T) view.self();
+        }
+
+        @Override
+        public @NotNull T get() {
+            return self;
+        }
+
+        @Override
+        public int row() {
+            return view.row;
+        }
+
+        @Override
+        public boolean next() {
+            if (view.row + 1 >= table.size) return false;
+            view.row++;
+            return true;
+        }
+
+        @Override
+        public @NotNull TableCursor<T> moveTo(int row) {
+            view.row = Objects.checkIndex(row, table.size);
+            return this;
+        }
+    }
+
+    /**
+     * flyweight of a row, the row is moved by cursor.
+     */
+    public abstract static class View implements Mimic {
+        protected final Table table;
+        protected int row;
+
+        protected View(Table table, int row) {
+            this.table = table;
+            this.row = row;
+        }
+
+        //the instance of Mimic type
+        Mimic self() {
+            return this;
+        }
+
+        //region getters
+        protected Object get(int slot) {
+            return table.read(slot, row);
+        }
+
+        protected long getLong(int slot) {
+            return ((long[]) table.columns[slot])[row];
+        }
+
+        protected int getInt(int slot) {
+            return ((int[]) table.columns[slot])[row];
+        }
+
+        protected short getShort(int slot) {
+            return ((short[]) table.columns[slot])[row];
+        }
+
+        protected byte getByte(int slot) {
+            return ((byte[]) table.columns[slot])[row];
+        }
+
+        protected char getChar(int slot) {
+            return ((char[]) table.columns[slot])[row];
+        }
+
+        protected double getDouble(int slot) {
+            return ((double[]) table.columns[slot])[row];
+        }
+
+        protected float getFloat(int slot) {
+            return ((float[]) table.columns[slot])[row];
+        }
+
+        protected boolean getBoolean(int slot) {
+            return ((boolean[]) table.columns[slot])[row];
+        }
+        //endregion
+
+        //region setters, primitive value only boxed when there is a validation
+        protected void set(int slot, Object value) {
+            table.layout.slots[slot].validateSetter(value);
+            table.write(slot, row, value);
+        }
+
+        protected void set(int slot, long value) {
+            var pi = table.layout.slots[slot];
+            if (pi.setterValidate != null) pi.validateSetter(value);
+            ((long[]) table.columns[slot])[row] = value;
+        }
+
+        protected void set(int slot, int value) {
+            var pi = table.layout.slots[slot];
+            if (pi.setterValidate != null) pi.validateSetter(value);
+            ((int[]) table.columns[slot])[row] = value;
+        }
+
+        protected void set(int slot, short value) {
+            var pi = table.layout.slots[slot];
+            if (pi.setterValidate != null) pi.validateSetter(value);
+            ((short[]) table.columns[slot])[row] = value;
+        }
+
+        protected void set(int slot, byte value) {
+            var pi = table.layout.slots[slot];
+            if (pi.setterValidate != null) pi.validateSetter(value);
+            ((byte[]) table.columns[slot])[row] = value;
+        }
+
+        protected void set(int slot, char value) {
+            var pi = table.layout.slots[slot];
+            if (pi.setterValidate != null) pi.validateSetter(value);
+            ((char[]) table.columns[slot])[row] = value;
+        }
+
+        protected void set(int slot, double value) {
+            var pi = table.layout.slots[slot];
+            if (pi.setterValidate != null) pi.validateSetter(value);
+            ((double[]) table.columns[slot])[row] = value;
+        }
+
+        protected void set(int slot, float value) {
+            var pi = table.layout.slots[slot];
+            if (pi.setterValidate != null) pi.validateSetter(value);
+            ((float[]) table.columns[slot])[row] = value;
+        }
+
+        protected void set(int slot, boolean value) {
+            var pi = table.layout.slots[slot];
+            if (pi.setterValidate != null) pi.validateSetter(value);
+            ((boolean[]) table.columns[slot])[row] = value;
+        }
+        //endregion
+
+        @Override
+        public @NotNull Map<String, Object> underlyingMap() {
+            return table.map(row);
+        }
+
+        @Override
+        public @NotNull Set<String> underlyingChangedProperties() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public void validate() throws IllegalStateException {
+            var v = table.layout.validator;
+            if (v != null) v.check(pi -> table.read(pi.ordinal, row));
+        }
+
+        boolean same(View other) {
+            return other.table == table && other.row == row;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(table) * 31 + row;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof View && same((View) obj);
+        }
+
+        @Override
+        public String toString() {
+            return table.layout.name + "[" + row + "]" + table.map(row);
+        }
+
+        static final Method GET;
+
+        static {
+            try {
+                GET = View.class.getDeclaredMethod("get", int.class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        //(getter type)=>getter of column
+        static Method getter(Class<?> type) {
+            if (!type.isPrimitive()) return GET;
+            var n = type.getName();
+            try {
+                return View.class.getDeclaredMethod("get" + Character.toUpperCase(n.charAt(0)) + n.substring(1), int.class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        //(setter type)=>setter of column
+        static Method setter(Class<?> type) {
+            try {
+                return View.class.getDeclaredMethod("set", int.class, type.isPrimitive() ? type : Object.class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    //region Proxy
+
+    @FunctionalInterface
+    interface Handler {
+        Object invoke(ProxyView self, Object[] args) throws Throwable;
+    }
+
+    static final class ProxyView extends View implements InvocationHandler {
+        final Map<Method, Handler> handlers;
+        Mimic proxy;
+
+        ProxyView(Table table, int row, Map<Method, Handler> handlers) {
+            super(table, row);
+            this.handlers = handlers;
+        }
+
+        @Override
+        Mimic self() {
+            return proxy;
+        }
+
+        @Override
+        public Object invoke(Object p, Method m, Object[] args) throws Throwable {
+            var h = handlers.get(m);
+            if (h == null) h = handlers.computeIfAbsent(m, x -> handler(table.layout, x));
+            return h.invoke(this, args);
+        }
+
+        static BiFunction<Table, Integer, View> viewer(Layout layout) {
+            final Map<Method, Handler> handlers = new ConcurrentHashMap<>();
+            for (Method m : layout.type.getMethods()) {
+                if (Modifier.isStatic(m.getModifiers())) continue;
+                handlers.put(m, handler(layout, m));
+            }
+            return (table, row) -> {
+                var v = new ProxyView(table, row, handlers);
+                v.proxy = (Mimic) Proxy.newProxyInstance(layout.type.getClassLoader(), new Class[]{layout.type}, v);
+                return v;
+            };
+        }
+
+        //resolve the action of a method
+        static Handler handler(Layout layout, Method m) {
+            var method = m.getName();
+            switch (method) {
+                case "toString":
+                    return (s, args) -> s.toString();
+                case "hashCode":
+                    return (s, args) -> s.hashCode();
+                case "equals":
+                    return (s, args) -> args[0] != null && Proxy.isProxyClass(args[0].getClass())
+                        && Proxy.getInvocationHandler(args[0]) instanceof ProxyView
+                        && s.same((ProxyView) Proxy.getInvocationHandler(args[0]));
+                case "underlyingMap": //special method
+                    return (s, args) -> s.underlyingMap();
+                case "underlyingChangedProperties": //special method
+                    return (s, args) -> Collections.emptySet();
+                default:
+                    break;
+            }
+            if (m.isDefault()) {
+                var invoker = Util.fetchDefaultInvoker(m.getDeclaringClass(), m);
+                var validate = method.equals("validate") && m.getParameterCount() == 0;
+                return (s, args) -> {
+                    if (validate) s.validate();
+                    return (Object) invoker.invokeExact((Object) s.proxy, args);
+                };
+            }
+            var field = layout.extract.apply(method);
+            var pi = field.isEmpty() ? null : layout.info.get(field);
+            if (pi != null && m.getParameterCount() == 0 && m.getReturnType() != Void.TYPE) { //must a getter
+                var slot = pi.ordinal;
+                return (s, args) -> s.get(slot);
+            }
+            if (pi != null && m.getParameterCount() == 1 &&
+                (m.getReturnType().isAssignableFrom(layout.type) || m.getReturnType() == Void.TYPE)) {// must a setter
+                var slot = pi.ordinal;
+                var self = m.getReturnType() != Void.TYPE;
+                return (s, args) -> {
+                    s.set(slot, args[0]);
+                    return self ? s.proxy : null;
+                };
+            }
+            return (s, args) -> {
+                throw new IllegalStateException("can not process method '" + m + "': with args" + Arrays.toString(args));
+            };
+        }
+    }
+    //endregion
+
+    /**
+     * views generated by ByteBuddy, standalone to be loaded only if ByteBuddy is present.
+     */
+    static final class Asm {
+        static BiFunction<Table, Integer, View> viewer(Layout layout, mimics.MimicInfo info) throws NoSuchMethodException {
+            var cls = layout.type;
+            var name = classes.nameOf(cls) + "$View";
+            var ctor = classes.define(cls, name, View.class, () -> make(cls, info, name))
+                .getConstructor(Table.class, int.class);
+            return (table, row) -> {
+                try {
+                    return (View) ctor.newInstance(table, row);
+                } catch (InstantiationException | InvocationTargetException | IllegalAccessException e) {
+                    Mimic.log.error("fail to build view of '{}'", cls, e);
+                    throw new IllegalStateException(e);
+                }
+            };
+        }
+
+        static DynamicType.Unloaded<?> make(Class<?> cls, mimics.MimicInfo info, String typeName) {
+            var faces = new ArrayList<>(Arrays.asList(cls.getInterfaces()));
+            faces.add(0, cls);
+            DynamicType.Builder<?> eager = new ByteBuddy()
+                .subclass(View.class)
+                .implement(cls)
+                .name(typeName);
+            for (var entry : info.propertyInfo.entrySet()) {
+                var slot = entry.getValue().v3.ordinal;
+                //getter
+                {
+                    var m = entry.getValue().v1;
+                    if (m != null) {
+                        eager = eager.defineMethod(m.getName(), m.getReturnType(), Modifier.PUBLIC)
+                            .intercept(MethodCall.invoke(View.getter(m.getReturnType())).with(slot)
+                                .withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC));
+                    }
+                }
+                //setter
+                {
+                    var m = entry.getValue().v2;
+                    if (m != null) {
+                        var set = MethodCall.invoke(View.setter(m.getParameterTypes()[0])).with(slot).withArgument(0);
+                        eager = eager.defineMethod(m.getName(), m.getReturnType(), Modifier.PUBLIC)
+                            .withParameters(Arrays.asList(m.getParameterTypes()))
+                            .intercept(m.getReturnType() == Void.TYPE ? set : set.andThen(FixedValue.self()));
+                    }
+                }
+            }
+            eager = eager.defineMethod("validate", void.class, Visibility.PUBLIC)
+                .intercept(SuperMethodCall.INSTANCE.andThen(DefaultMethodCall.prioritize(faces)));
+            eager = eager.defineMethod("toString", String.class, Visibility.PUBLIC)
+                .intercept(SuperMethodCall.INSTANCE);
+            eager = eager.defineMethod("hashCode", int.class, Visibility.PUBLIC)
+                .intercept(SuperMethodCall.INSTANCE);
+            eager = eager.defineMethod("equals", boolean.class, Visibility.PUBLIC)
+                .withParameters(Object.class)
+                .intercept(SuperMethodCall.INSTANCE);
+            return eager.make();
+        }
+    }
+}
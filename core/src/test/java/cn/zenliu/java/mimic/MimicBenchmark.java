@@ -3,6 +3,9 @@ package cn.zenliu.java.mimic;
 import lombok.AllArgsConstructor;
 import lombok.val;
 import org.jetbrains.annotations.NotNull;
+import org.jooq.tools.json.JSONParser;
+import org.jooq.tools.json.JSONValue;
+import org.jooq.tools.json.ParseException;
 import org.junit.jupiter.api.Test;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
@@ -134,6 +137,33 @@ public class MimicBenchmark {
         }
     }
 
+    @State(Scope.Thread)
+    public static class BenchmarkCodecState {
+        MimicTest.Flue instance;
+        Mimic.Codec<MimicTest.Flue> codec;
+        Mimic.JsonReader<MimicTest.Flue> reader;
+        Mimic.JsonWriter<MimicTest.Flue> writer;
+        byte[] bytes;
+        String json;
+
+        @Setup(Level.Trial)
+        public void initialize() {
+            var data = new HashMap<String, Object>();
+            data.put("id", 10L);
+            data.put("identity", "10");
+            data.put("idOfUser", "10");
+            data.put("user", BigDecimal.valueOf(10));
+
+            Mimic.ByteASM.enable();
+            instance = Mimic.newInstance(MimicTest.Flue.class, data);
+            codec = Mimic.Codec.of(MimicTest.Flue.class);
+            bytes = codec.encode(instance);
+            reader = Mimic.JsonReader.of(MimicTest.Flue.class);
+            writer = Mimic.JsonWriter.of(MimicTest.Flue.class);
+            json = JSONValue.toJSONString(instance.underlyingMap());
+        }
+    }
+
     @State(Scope.Thread)
     public static class BenchmarkPojoState {
         MimicTest.Flue instance;
@@ -282,6 +312,40 @@ public class MimicBenchmark {
         bh.consume(st.instance.identity());
     }
 
+    @Benchmark
+    public void mimicBenchCodecEncode(BenchmarkCodecState st, Blackhole bh) {
+        bh.consume(st.codec.encode(st.instance));
+    }
+
+    @Benchmark
+    public void mimicBenchCodecDecode(BenchmarkCodecState st, Blackhole bh) {
+        bh.consume(st.codec.decode(st.bytes));
+    }
+
+    @Benchmark
+    public void mimicBenchJsonEncode(BenchmarkCodecState st, Blackhole bh) {
+        bh.consume(JSONValue.toJSONString(st.instance.underlyingMap()));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Benchmark
+    public void mimicBenchJsonDecode(BenchmarkCodecState st, Blackhole bh) throws ParseException {
+        var m = (Map<String, Object>) new JSONParser().parse(st.json);
+        //numbers are parsed as Long or Double
+        m.computeIfPresent("user", (k, v) -> new BigDecimal(v.toString()));
+        bh.consume(Mimic.newInstance(MimicTest.Flue.class, m));
+    }
+
+    @Benchmark
+    public void mimicBenchJsonReader(BenchmarkCodecState st, Blackhole bh) {
+        bh.consume(st.reader.read(st.json));
+    }
+
+    @Benchmark
+    public void mimicBenchJsonWriter(BenchmarkCodecState st, Blackhole bh) {
+        bh.consume(st.writer.toJson(st.instance));
+    }
+
     @Benchmark
     @BenchmarkMode(Mode.SingleShotTime)
     public void mimicBenchPojoBuildOneShot(BenchmarkPojoState st, Blackhole bh) {
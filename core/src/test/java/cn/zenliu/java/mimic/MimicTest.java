@@ -0,0 +1,1192 @@
+package cn.zenliu.java.mimic;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.val;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.jooq.DataType;
+import org.jooq.Field;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.impl.SQLDataType;
+import org.jooq.lambda.tuple.Tuple;
+import org.jooq.lambda.tuple.Tuple2;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.jooq.lambda.Seq.seq;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MimicTest {
+    @Mimic.Dao.Entity
+    public interface Fluent extends Mimic {
+        long id();
+
+        void id(long val);
+
+        @Validation(property = "notNull")
+        Long identity();
+
+        Fluent identity(Long val);
+
+        @Dao.AsString
+        Long idOfUser();
+
+        Fluent idOfUser(Long val);
+
+        @Override
+        default void validate() throws IllegalStateException {
+            if (identity() > 10) {
+                throw new IllegalStateException("identity must less than 10");
+            }
+        }
+    }
+
+    @Mimic.Dao.Entity
+    public interface Flue extends Fluent {
+
+        @Dao.AsString
+        @Override
+        Long identity();
+
+        BigDecimal user();
+
+        Flue user(BigDecimal val);
+
+        @Override
+        default void validate() throws IllegalStateException {
+            if (user().compareTo(BigDecimal.TEN) < 0) {
+                throw new IllegalStateException("user must bigger than 10");
+            }
+            Fluent.super.validate();
+        }
+
+        default BigDecimal halfOrDefault() {
+            if (user() == null) return BigDecimal.ZERO;
+            return user().divide(BigDecimal.valueOf(2), RoundingMode.HALF_DOWN);
+        }
+    }
+
+    @Mimic.Immutable
+    public interface Frozen extends Mimic {
+        long id();
+
+        Frozen id(long val);
+
+        @Validation(property = "notNull")
+        String name();
+
+        Frozen name(String val);
+    }
+
+    public interface Item extends Mimic {
+        long id();
+
+        Item id(long val);
+    }
+
+    public interface Account extends Mimic {
+        long id();
+
+        Account id(long val);
+
+        Long version();
+
+        Account version(Long val);
+
+        //getter only
+        String name();
+    }
+
+    public interface Stamp extends Mimic {
+        Integer count();
+
+        Stamp count(Integer val);
+
+        Instant at();
+
+        Stamp at(Instant val);
+    }
+
+    public interface Coded extends Mimic {
+        @Dao.AsString
+        @Validation(property = "notNull")
+        Long code();
+
+        Coded code(Long val);
+
+        @Validation(property = "notNull")
+        String name();
+
+        Coded name(String val);
+    }
+
+    public interface Kinds extends Mimic {
+        BiConsumer<String, Object> positive = (p, x) -> {
+            if (((Number) x).intValue() < 0) throw new IllegalStateException(p + " must not be negative");
+        };
+
+        @Validation(value = Kinds.class, property = "positive")
+        int count();
+
+        Kinds count(int val);
+
+        long big();
+
+        Kinds big(long val);
+
+        double ratio();
+
+        Kinds ratio(double val);
+
+        float rate();
+
+        Kinds rate(float val);
+
+        boolean flag();
+
+        Kinds flag(boolean val);
+
+        char code();
+
+        Kinds code(char val);
+
+        short small();
+
+        Kinds small(short val);
+
+        byte tiny();
+
+        Kinds tiny(byte val);
+
+        default long sum(long extra) {
+            return big() + count() + extra;
+        }
+    }
+
+    @Mimic.Concurrent
+    public interface Shared extends Mimic {
+        long a();
+
+        Shared a(long val);
+
+        long b();
+
+        Shared b(long val);
+
+        Long c();
+
+        Shared c(Long val);
+
+        String d();
+
+        Shared d(String val);
+    }
+
+    public interface Order extends Mimic {
+        @Many(Item.class)
+        List<Item> items();
+
+        Order items(List<Item> val);
+
+        Item main();
+
+        Order main(Item val);
+    }
+
+    public interface FluentDao extends Mimic.Dao<Fluent> {
+        static DataType<Long> identity = SQLDataType.BIGINT.identity(true);
+
+        @As(typeHolder = FluentDao.class, typeProperty = "identity")
+        Field<Long> id();
+
+        @As(typeHolder = SQLDataType.class, typeProperty = "BIGINT")
+        Field<Long> identity();
+
+        @As(typeHolder = SQLDataType.class, typeProperty = "VARCHAR")
+        Field<String> idOfUser();
+
+
+        default Fluent fetchById(long id) {
+            return instance(ctx().selectFrom(table()).where(id().eq(id)).fetchOne().intoMap());
+        }
+
+        default int countById(long id) {
+            return ctx().fetchCount(table(), id().eq(id));
+        }
+
+
+        default void deleteAll() {
+            ctx().delete(table()).execute();
+        }
+    }
+
+    public interface FlueDao extends Mimic.Dao<Flue> {
+        Field<BigDecimal> user();
+
+        @As(typeHolder = FluentDao.class, typeProperty = "identity")
+        Field<Long> id();
+
+        @As(typeHolder = SQLDataType.class, typeProperty = "VARCHAR")
+        Field<String> identity();
+
+        @As(typeHolder = SQLDataType.class, typeProperty = "VARCHAR")
+        Field<String> idOfUser();
+
+        @Override
+        default List<Field<?>> allFields() {
+            return Arrays.asList(id(), identity(), idOfUser(), user());
+        }
+
+        default Flue fetchById(long id) {
+            return instance(ctx().select(allFields()).from(table()).where(id().eq(id)).fetchOne().intoMap());
+        }
+
+        default void deleteAll() {
+            ctx().delete(table()).execute();
+        }
+    }
+
+    static final DefaultConfiguration cfg;
+
+    static {
+        cfg = new DefaultConfiguration();
+        cfg.setSQLDialect(SQLDialect.DERBY);
+        val hc = new HikariConfig();
+//        hc.setJdbcUrl("jdbc:derby:memory:test;create=true");
+        hc.setJdbcUrl("jdbc:h2:mem:test");
+        cfg.setDataSource(new HikariDataSource(hc));
+    }
+
+    static final Supplier<FluentDao> fluentDao = () -> Mimic.Dao.newInstance(Fluent.class, FluentDao.class, cfg);
+    static final Supplier<FlueDao> flueDao = () -> Mimic.Dao.newInstance(Flue.class, FlueDao.class, cfg);
+    static final Supplier<Fluent> fluent = () -> Mimic.newInstance(Fluent.class, null);
+    static final Supplier<Flue> flue = () -> Mimic.newInstance(Flue.class, null);
+
+    @Test
+    void mimic() {
+        final Consumer<Fluent> fluentValidate = i -> {
+            i.id(12L);
+            System.out.println(i.underlyingMap());
+            i.underlyingMap().put("id", 12);
+            assertEquals(12L, i.id());
+            i.identity(11L);
+            System.out.println(i.underlyingMap());
+            assertEquals(12L, i.id());
+            assertThrows(IllegalStateException.class, i::validate);
+            assertNotNull(i.underlyingChangedProperties());
+        };
+        final Consumer<Flue> flueValidate = i -> {
+            i.id(12L);
+            System.out.println(i.underlyingMap());
+            assertEquals(12L, i.id());
+            assertThrows(IllegalStateException.class, () -> i.identity(null));
+            i.identity(11L);
+            assertEquals(BigDecimal.ZERO, i.halfOrDefault());
+            i.user(BigDecimal.TEN);
+            assertThrows(IllegalStateException.class, i::validate);
+            i.identity(10L);
+            i.user(BigDecimal.valueOf(8));
+            System.out.println(i.underlyingMap());
+            assertEquals(12L, i.id());
+            assertEquals(10L, i.identity());
+            assertEquals(BigDecimal.valueOf(8), i.user());
+            assertThrows(IllegalStateException.class, i::validate);
+            assertNotNull(i.underlyingChangedProperties());
+            assertEquals(BigDecimal.valueOf(4), i.halfOrDefault());
+            System.out.println(i);
+        };
+        Mimic.DynamicProxy.enable();
+        var F = fluent.get();
+        var f = flue.get();
+        fluentValidate.accept(F);
+        flueValidate.accept(f);
+        Mimic.ByteASM.enable();
+        F = fluent.get();
+        f = flue.get();
+        fluentValidate.accept(F);
+        flueValidate.accept(f);
+        //no precompiled implements, should fall back to ASM
+        Mimic.Precompiled.enable();
+        F = fluent.get();
+        f = flue.get();
+        fluentValidate.accept(F);
+        flueValidate.accept(f);
+    }
+
+    @Test
+    void bulk() {
+        final Consumer<List<Fluent>> validate = l -> {
+            assertEquals(3, l.size());
+            assertEquals(1L, l.get(0).id());
+            assertEquals(2L, l.get(1).id());
+            assertEquals(0L, l.get(2).id());
+            assertTrue(l.get(0).underlyingChangedProperties().isEmpty());
+        };
+        final List<Map<String, Object>> data = Arrays.asList(Map.of("id", 1L), Map.of("id", 2), Map.of());
+        Mimic.DynamicProxy.enable();
+        validate.accept(Mimic.newInstances(Fluent.class, data));
+        validate.accept(data.stream().collect(Mimic.collector(Fluent.class)));
+        Mimic.ByteASM.enable();
+        validate.accept(Mimic.newInstances(Fluent.class, data));
+        validate.accept(data.stream().collect(Mimic.collector(Fluent.class)));
+        var factory = Mimic.factory(Fluent.class);
+        validate.accept(factory.createAll(data));
+        assertEquals(property1, factory.properties());
+        assertEquals(long.class, factory.types().get("id"));
+        assertEquals(0L, factory.create().id());
+    }
+
+    @Test
+    void underlyingMap() {
+        final Runnable validate = () -> {
+            var i = Mimic.newInstance(Account.class, Map.of("id", 1L, "version", 2L, "name", "a"));
+            assertEquals("a", i.name());
+            assertEquals(Map.of("id", 1L, "version", 2L, "name", "a"), i.underlyingMap());
+            var c = Mimic.newInstance(Account.class, i.underlyingMap());
+            assertEquals(i.underlyingMap(), c.underlyingMap());
+            assertEquals("a", c.name());
+            var m = c.underlyingMap();
+            for (var e : m.entrySet()) {
+                if (e.getKey().equals("version")) e.setValue(3L);
+            }
+            assertEquals(3L, c.version());
+            assertEquals(3L, m.remove("version"));
+            assertNull(c.version());
+            var it = m.entrySet().iterator();
+            while (it.hasNext()) {
+                if (it.next().getKey().equals("name")) it.remove();
+            }
+            assertNull(c.name());
+            assertEquals(1L, c.id());
+            m.clear();
+            assertEquals(0L, c.id());
+            assertEquals("a", i.name());
+        };
+        Mimic.DynamicProxy.enable();
+        validate.run();
+        Mimic.ByteASM.enable();
+        validate.run();
+        //primitive stays present as zero
+        var a = Mimic.newInstance(Account.class, Map.of("id", 1L, "name", "a"));
+        a.underlyingMap().clear();
+        assertEquals(Map.of("id", 0L), a.underlyingMap());
+        assertTrue(a.underlyingChangedProperties().containsAll(List.of("id", "name")));
+    }
+
+    @Test
+    void liveView() {
+        final Runnable validate = () -> {
+            var i = Mimic.newInstance(Fluent.class, Map.of("id", 1L, "idOfUser", "2"));
+            var m = i.underlyingMap();
+            assertSame(m, i.underlyingMap());
+            //storage form of converted property
+            assertEquals("2", m.get("idOfUser"));
+            assertFalse(m.containsKey("identity"));
+            i.identity(3L);
+            i.id(4L);
+            assertEquals(3L, m.get("identity"));
+            assertEquals(4L, m.get("id"));
+            assertEquals(Set.of("id", "identity", "idOfUser"), m.keySet());
+            m.put("identity", 5L);
+            assertEquals(5L, i.identity());
+            assertEquals(Map.of("id", 4L, "identity", 5L, "idOfUser", "2"), m);
+            assertEquals(Map.of("id", 4L, "identity", 5L, "idOfUser", "2").hashCode(), m.hashCode());
+            assertEquals(m, Mimic.newInstance(Fluent.class, Map.of("id", 4L, "identity", 5L, "idOfUser", "2")).underlyingMap());
+        };
+        Mimic.DynamicProxy.enable();
+        validate.run();
+        Mimic.ByteASM.enable();
+        validate.run();
+    }
+
+    //properties p000 to p129, more than two words of changes
+    static mimics.PropertiesInfo wide() {
+        var info = mimics.PropertiesInfo.of(256);
+        for (int i = 0; i < 130; i++) {
+            var p = String.format("p%03d", i);
+            info.put(p, new mimics.PropertyInfo(p, i, Tuple.tuple(null, null, null, Long.class)));
+        }
+        return info;
+    }
+
+    @Test
+    void changes() {
+        var info = wide();
+        for (var mode : new int[]{0, 1, 2}) {
+            var c = mimics.Changes.of(info, mode);
+            assertTrue(c.isEmpty());
+            assertTrue(c.add("p129"));
+            assertTrue(c.add("p003"));
+            assertTrue(c.add("p064"));
+            assertTrue(c.add("p063"));
+            assertFalse(c.add("p064"));
+            assertEquals(List.of("p003", "p063", "p064", "p129"), List.copyOf(c));
+            assertEquals(4, c.size());
+            assertTrue(c.contains("p129"));
+            assertFalse(c.contains("p128"));
+            assertFalse(c.contains("unknown"));
+            assertThrows(IllegalArgumentException.class, () -> c.add("unknown"));
+            assertTrue(c.remove("p064"));
+            assertFalse(c.remove("p064"));
+            var it = c.iterator();
+            while (it.hasNext()) {
+                if (it.next().equals("p129")) it.remove();
+            }
+            assertEquals(Set.of("p003", "p063"), Set.copyOf(c));
+            c.clear();
+            assertTrue(c.isEmpty());
+            assertEquals(0, c.size());
+        }
+    }
+
+    @Test
+    void primitives() {
+        final Runnable validate = () -> {
+            var i = Mimic.newInstance(Kinds.class, null);
+            assertEquals(0, i.count());
+            assertEquals(0L, i.big());
+            assertEquals(0.0, i.ratio());
+            assertEquals(0f, i.rate());
+            assertFalse(i.flag());
+            assertEquals('\0', i.code());
+            assertEquals((short) 0, i.small());
+            assertEquals((byte) 0, i.tiny());
+            assertTrue(i.underlyingChangedProperties().isEmpty());
+            assertThrows(IllegalStateException.class, () -> i.count(-1));
+            assertEquals(0, i.count());
+            assertFalse(i.underlyingChangedProperties().contains("count"));
+            i.count(1).big(2L).ratio(3.5).rate(4.5f).flag(true).code('c').small((short) 6).tiny((byte) 7);
+            assertEquals(1, i.count());
+            assertEquals(2L, i.big());
+            assertEquals(3.5, i.ratio());
+            assertEquals(4.5f, i.rate());
+            assertTrue(i.flag());
+            assertEquals('c', i.code());
+            assertEquals((short) 6, i.small());
+            assertEquals((byte) 7, i.tiny());
+            assertEquals(List.of("big", "code", "count", "flag", "rate", "ratio", "small", "tiny"), List.copyOf(i.underlyingChangedProperties()));
+            assertEquals(Map.of("count", 1, "big", 2L, "ratio", 3.5, "rate", 4.5f, "flag", true,
+                "code", 'c', "small", (short) 6, "tiny", (byte) 7), i.underlyingMap());
+        };
+        Mimic.DynamicProxy.enable();
+        validate.run();
+        Mimic.ByteASM.enable();
+        validate.run();
+    }
+
+    @Test
+    void proxyHandlers() {
+        Mimic.DynamicProxy.enable();
+        var a = Mimic.newInstance(Flue.class, Map.of("id", 1L, "identity", 2L, "user", new BigDecimal("20")));
+        var b = Mimic.newInstance(Flue.class, Map.of("user", new BigDecimal("4")));
+        var handlers = ((mimics.ProxyFactory.ProxyInstance) mimics.handler(a)).factory.handlers;
+        assertSame(handlers, ((mimics.ProxyFactory.ProxyInstance) mimics.handler(b)).factory.handlers);
+        //default method calls a getter, overridden default calls the super one
+        assertEquals(new BigDecimal("10"), a.halfOrDefault());
+        a.validate();
+        assertEquals(a.underlyingMap().hashCode(), a.hashCode());
+        assertTrue(a.toString().contains("user=20"), a.toString());
+        a.identity(3L);
+        var n = handlers.size();
+        //same methods on another instance are resolved already
+        assertEquals(new BigDecimal("2"), b.halfOrDefault());
+        assertThrows(IllegalStateException.class, b::validate);
+        b.identity(3L);
+        assertEquals(b.underlyingMap().hashCode(), b.hashCode());
+        assertNotNull(b.toString());
+        assertEquals(n, handlers.size());
+    }
+
+    @Test
+    void coercion() {
+        final Runnable validate = () -> {
+            var i = Mimic.newInstance(Kinds.class, Map.of("count", 1L, "big", 2, "ratio", 3.5f, "rate", 4.5, "small", 6, "tiny", 7L));
+            assertEquals(1, i.count());
+            assertEquals(2L, i.big());
+            assertEquals(3.5, i.ratio());
+            assertEquals(4.5f, i.rate());
+            assertEquals((short) 6, i.small());
+            assertEquals((byte) 7, i.tiny());
+            //stored in the property type once
+            var m = i.underlyingMap();
+            assertEquals(Integer.class, m.get("count").getClass());
+            assertEquals(Long.class, m.get("big").getClass());
+            assertEquals(Float.class, m.get("rate").getClass());
+            assertEquals(Byte.class, m.get("tiny").getClass());
+        };
+        Mimic.DynamicProxy.enable();
+        validate.run();
+        Mimic.ByteASM.enable();
+        validate.run();
+    }
+
+    @Test
+    void defaultMethods() throws Throwable {
+        final Runnable validate = () -> {
+            var i = Mimic.newInstance(Kinds.class, Map.of("count", 1, "big", 2L));
+            assertEquals(13L, i.sum(10L));
+            i.count(2);
+            assertEquals(14L, i.sum(10L));
+            var f = Mimic.newInstance(Flue.class, Map.of("user", new BigDecimal("8")));
+            assertEquals(new BigDecimal("4"), f.halfOrDefault());
+            assertEquals(new BigDecimal("4"), f.halfOrDefault());
+        };
+        Mimic.DynamicProxy.enable();
+        validate.run();
+        Mimic.ByteASM.enable();
+        validate.run();
+        var f = Mimic.newInstance(Flue.class, Map.of("user", new BigDecimal("8")));
+        var half = Util.fetchDefaultInvoker(Flue.class, Flue.class.getMethod("halfOrDefault"));
+        //arguments of no parameter method maybe null
+        assertEquals(new BigDecimal("4"), (Object) half.invokeExact((Object) f, (Object[]) null));
+        assertEquals(new BigDecimal("4"), (Object) half.invokeExact((Object) f, new Object[0]));
+        var k = Mimic.newInstance(Kinds.class, Map.of("big", 2L));
+        var sum = Util.fetchDefaultInvoker(Kinds.class, Kinds.class.getMethod("sum", long.class));
+        assertEquals(5L, (Object) sum.invokeExact((Object) k, new Object[]{3L}));
+    }
+
+    @Test
+    void concurrent() throws Exception {
+        //threads mark different bits of the same words
+        var c = mimics.Changes.of(wide(), 2);
+        var pool = Executors.newFixedThreadPool(4);
+        try {
+            var tasks = new ArrayList<Future<?>>();
+            for (int t = 0; t < 4; t++) {
+                var from = t;
+                tasks.add(pool.submit(() -> {
+                    for (int i = from; i < 130; i += 4) c.mark(i);
+                }));
+            }
+            for (var f : tasks) f.get();
+            assertEquals(130, c.size());
+            final Runnable validate = () -> {
+                var s = Mimic.newInstance(Shared.class, null);
+                var setters = List.<Consumer<Integer>>of(n -> s.a(n), n -> s.b(n), n -> s.c((long) n), n -> s.d(n.toString()));
+                var jobs = new ArrayList<Future<?>>();
+                for (var setter : setters) {
+                    jobs.add(pool.submit(() -> {
+                        for (int n = 1; n <= 10_000; n++) setter.accept(n);
+                    }));
+                }
+                for (var f : jobs) {
+                    try {
+                        f.get();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                assertEquals(10_000L, s.a());
+                assertEquals(10_000L, s.b());
+                assertEquals(10_000L, s.c());
+                assertEquals("10000", s.d());
+                assertEquals(List.of("a", "b", "c", "d"), List.copyOf(s.underlyingChangedProperties()));
+            };
+            Mimic.DynamicProxy.enable();
+            validate.run();
+            Mimic.ByteASM.enable();
+            validate.run();
+            //lock free implement publishes fields as volatile
+            var type = Mimic.newInstance(Shared.class, null).getClass();
+            for (var p : List.of("a", "b", "c", "d")) {
+                assertTrue(Modifier.isVolatile(type.getDeclaredField(p).getModifiers()), p);
+            }
+            assertFalse(Modifier.isVolatile(Mimic.newInstance(Item.class, null).getClass().getDeclaredField("id").getModifiers()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    //interface sample.Changing defined in a new class loader, as if the application restarts
+    static Class<?> changing(boolean withName) {
+        DynamicType.Builder<?> b = new ByteBuddy().makeInterface(Mimic.class).name("sample.Changing")
+            .defineMethod("id", long.class, Visibility.PUBLIC).withoutCode()
+            .defineMethod("id", void.class, Visibility.PUBLIC).withParameters(long.class).withoutCode();
+        if (withName) {
+            b = b.defineMethod("name", String.class, Visibility.PUBLIC).withoutCode()
+                .defineMethod("name", void.class, Visibility.PUBLIC).withParameters(String.class).withoutCode();
+        }
+        return b.make().load(MimicTest.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER).getLoaded();
+    }
+
+    @Test
+    void classCache(@TempDir Path dir) throws Exception {
+        var calls = new AtomicInteger();
+        final Function<Class<?>, Class<?>> define = face -> classes.define(dir, face, "sample.Changing$ASM", mimics.AsmFactory.Base.class, () -> {
+            calls.incrementAndGet();
+            return mimics.AsmFactory.make(face, mimics.Factory.infoCache.get(face), "sample.Changing$ASM");
+        });
+        var v1 = changing(false);
+        var hash = classes.structureHash(v1, mimics.AsmFactory.Base.class);
+        assertEquals(hash, classes.structureHash(changing(false), mimics.AsmFactory.Base.class));
+        var first = define.apply(v1);
+        assertEquals(1, calls.get());
+        assertTrue(Files.isRegularFile(dir.resolve("sample.Changing$ASM-" + hash + ".class")));
+        //same structure in another loader defines the stored bytes
+        var again = changing(false);
+        var hit = define.apply(again);
+        assertEquals(1, calls.get());
+        assertNotSame(first, hit);
+        assertSame(again.getClassLoader(), hit.getClassLoader());
+        assertTrue(again.isAssignableFrom(hit));
+        //changed structure misses the stored one and generates again
+        var v2 = changing(true);
+        assertNotEquals(hash, classes.structureHash(v2, mimics.AsmFactory.Base.class));
+        var regenerated = define.apply(v2);
+        assertEquals(2, calls.get());
+        assertNotNull(regenerated.getDeclaredField("name"));
+        try (var files = Files.list(dir)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    void hiddenClass() throws Exception {
+        var info = mimics.Factory.infoCache.get(Item.class);
+        var prop = info.getPropertyInfo();
+        //same as classes.nameOf in hidden mode
+        var name = Item.class.getName() + "$ASM";
+        var bytes = mimics.AsmFactory.make(Item.class, info, name).getBytes();
+        var hidden = classes.defineHidden(Item.class, bytes);
+        assertTrue(hidden.isHidden());
+        //defined again without conflict
+        assertNotSame(hidden, classes.defineHidden(Item.class, bytes));
+        assertEquals(Item.class.getPackageName(), hidden.getPackageName());
+        assertSame(Item.class.getNestHost(), hidden.getNestHost());
+        //not visible to the class loader, so it can be unloaded with its factory
+        assertThrows(ClassNotFoundException.class, () -> Class.forName(hidden.getName(), false, Item.class.getClassLoader()));
+        var functor = mimics.AsmFactory.functor(info, hidden);
+        var i = (Item) hidden.getConstructor(mimics.PropertiesInfo.class, mimics.AsmFactory.FunctorInfo.class, String.class, int.class, mimics.Validator.class)
+            .newInstance(prop, functor, name, 0, null);
+        i.id(3L);
+        assertEquals(3L, i.id());
+        assertEquals(Map.of("id", 3L), i.underlyingMap());
+        assertEquals(List.of("id"), List.copyOf(i.underlyingChangedProperties()));
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Test
+    void registry() {
+        var calls = new AtomicInteger();
+        mimics.Registry<Class, String> r = mimics.Registry.of(c -> {
+            //first computation fails
+            if (calls.getAndIncrement() == 0) throw new IllegalStateException("fail");
+            return c.getSimpleName();
+        });
+        assertThrows(IllegalStateException.class, () -> r.get(Item.class));
+        assertEquals("Item", r.get(Item.class));
+        assertEquals("Item", r.get(Item.class));
+        assertEquals(2, calls.get());
+        assertEquals("Order", r.get(Order.class));
+        assertEquals(3, calls.get());
+        mimics.Registry<Tuple2<Class, Class>, String> pairs = mimics.Registry.ofPair(k -> {
+            calls.incrementAndGet();
+            return k.v1.getSimpleName() + k.v2.getSimpleName();
+        });
+        assertEquals("ItemOrder", pairs.get(Tuple.tuple(Item.class, Order.class)));
+        assertEquals("OrderItem", pairs.get(Tuple.tuple(Order.class, Item.class)));
+        assertEquals("ItemOrder", pairs.get(Tuple.tuple(Item.class, Order.class)));
+        assertEquals(5, calls.get());
+        //definitions are counted on the interface
+        var face = changing(false);
+        var regenerated = Mimic.Metrics.regenerated();
+        classes.Stats.count(face, "sample.Changing$ASM");
+        assertEquals(regenerated, Mimic.Metrics.regenerated());
+        classes.Stats.count(face, "sample.Changing$ASM");
+        assertEquals(regenerated + 1, Mimic.Metrics.regenerated());
+        assertEquals(2, classes.Stats.definitions.get(face).get("sample.Changing$ASM").get());
+        assertTrue(classes.Stats.definitions.get(changing(false)).isEmpty());
+    }
+
+    @Test
+    void reset() {
+        final Runnable validate = () -> {
+            var factory = Mimic.factory(Fluent.class);
+            var i = factory.create(Map.of("id", 1L, "identity", 2L, "idOfUser", "3"));
+            i.id(5L);
+            assertFalse(i.underlyingChangedProperties().isEmpty());
+            assertSame(i, factory.reset(i, Map.of("identity", 4L)));
+            assertEquals(0L, i.id());
+            assertEquals(4L, i.identity());
+            assertNull(i.idOfUser());
+            assertTrue(i.underlyingChangedProperties().isEmpty());
+            assertEquals(factory.create(Map.of("identity", 4L)).underlyingMap(), i.underlyingMap());
+            //cleared without validation
+            factory.reset(i, null);
+            assertNull(i.identity());
+            var o = Mimic.newInstance(Order.class, Map.of("main", Map.of("id", 3L)));
+            assertEquals(3L, o.main().id());
+            Mimic.factory(Order.class).reset(o, Map.of("main", Map.of("id", 4L)));
+            assertEquals(4L, o.main().id());
+            var pool = Mimic.factory(Item.class).pool(1);
+            var a = pool.acquire(Map.of("id", 1L));
+            assertTrue(pool.release(a));
+            assertFalse(pool.release(Mimic.newInstance(Item.class, null)));
+            var b = pool.acquire(Map.of("id", 2L));
+            assertSame(a, b);
+            assertEquals(2L, b.id());
+            assertEquals(0, pool.idle());
+            var f = Mimic.newInstance(Frozen.class, Map.of("id", 1L, "name", "a"));
+            assertThrows(IllegalStateException.class, () -> Mimic.factory(Frozen.class).reset(f, null));
+        };
+        Mimic.DynamicProxy.enable();
+        validate.run();
+        Mimic.ByteASM.enable();
+        validate.run();
+    }
+
+    @Test
+    void copy() {
+        final Runnable validate = () -> {
+            var factory = Mimic.factory(Fluent.class);
+            var i = factory.create(Map.of("id", 1L, "identity", 2L, "idOfUser", "3"));
+            i.id(5L);
+            var c = factory.copy(i);
+            assertNotSame(i, c);
+            assertEquals(i.underlyingMap(), c.underlyingMap());
+            assertTrue(c.underlyingChangedProperties().isEmpty());
+            c.identity(7L);
+            assertEquals(2L, i.identity());
+            var t = factory.create(Map.of("id", 9L));
+            assertSame(t, factory.merge(t, c, true));
+            assertEquals(9L, t.id());
+            assertEquals(7L, t.identity());
+            assertTrue(t.underlyingChangedProperties().contains("identity"));
+            factory.merge(t, i, false);
+            assertEquals(i.underlyingMap(), t.underlyingMap());
+            //null values of another type are skipped
+            factory.merge(t, Mimic.newInstance(Flue.class, Map.of("id", 3L, "user", new BigDecimal("12.5"))), false);
+            assertEquals(3L, t.id());
+            assertEquals(2L, t.identity());
+            //setters still validate while another thread merges into the same instance
+            var merging = CompletableFuture.runAsync(() -> {
+                for (int n = 0; n < 10_000; n++) factory.merge(t, i, false);
+            });
+            var unchecked = 0;
+            while (!merging.isDone()) {
+                try {
+                    t.identity(null);
+                    unchecked++;
+                } catch (IllegalStateException ignore) {
+                }
+            }
+            merging.join();
+            assertEquals(0, unchecked);
+            var frozen = Mimic.factory(Frozen.class);
+            var f = frozen.create(Map.of("id", 1L, "name", "a"));
+            assertSame(f, frozen.copy(f));
+            assertThrows(IllegalStateException.class, () -> frozen.merge(f, frozen.create(Map.of("id", 2L, "name", "b")), false));
+        };
+        Mimic.DynamicProxy.enable();
+        validate.run();
+        Mimic.ByteASM.enable();
+        validate.run();
+    }
+
+    @Test
+    void diff() {
+        final Runnable validate = () -> {
+            var factory = Mimic.factory(Fluent.class);
+            var a = factory.create(Map.of("id", 1L, "identity", 2L, "idOfUser", "3"));
+            var b = factory.create(Map.of("id", 1L, "identity", 4L));
+            var p = factory.diff(a, b);
+            assertEquals(2, p.size());
+            assertEquals(Arrays.asList("idOfUser", "identity"), p.properties());
+            assertTrue(p.contains("identity"));
+            assertFalse(p.contains("id"));
+            assertEquals(4L, p.value("identity"));
+            assertNull(p.value("idOfUser"));
+            assertTrue(factory.diff(a, factory.copy(a)).isEmpty());
+            var t = factory.copy(a);
+            assertSame(t, p.applyTo(t));
+            assertEquals(b.underlyingMap(), t.underlyingMap());
+            assertEquals(Set.of("idOfUser", "identity"), Set.copyOf(t.underlyingChangedProperties()));
+            //sub type has other slots
+            var f = Mimic.newInstance(Flue.class, Map.of("id", 1L, "identity", "2", "user", new BigDecimal("12.5")));
+            p.applyTo(f);
+            assertEquals(4L, f.identity());
+            assertEquals(new BigDecimal("12.5"), f.user());
+            assertEquals(List.of("id"), factory.diff(a, factory.create(Map.of("id", 2L, "identity", 2L, "idOfUser", "3"))).properties());
+            //target without a changed property
+            @SuppressWarnings({"rawtypes", "unchecked"})
+            Mimic.Patch<Item> raw = (Mimic.Patch) p;
+            var e = assertThrows(IllegalArgumentException.class, () -> raw.applyTo(Mimic.newInstance(Item.class, null)));
+            assertTrue(e.getMessage().contains("'idOfUser'"), e.getMessage());
+        };
+        Mimic.DynamicProxy.enable();
+        validate.run();
+        Mimic.ByteASM.enable();
+        validate.run();
+    }
+
+    @Test
+    void validateChanged() {
+        final Runnable validate = () -> {
+            var i = Mimic.newInstance(Fluent.class, Map.of("id", 1L));
+            i.validateChanged();
+            assertThrows(IllegalStateException.class, i::validate);
+            i.id(2L);
+            i.validateChanged();
+            i.underlyingChangedProperties().add("identity");
+            assertThrows(IllegalStateException.class, i::validateChanged);
+            //nested validated in place
+            var o = Mimic.newInstance(Order.class, Map.of("main", Map.of("id", 3L)));
+            var main = o.main();
+            o.validate();
+            assertSame(main, o.main());
+            //converted only validated by setter
+            var c = Mimic.newInstance(Coded.class, Map.of("name", "a"));
+            c.validate();
+            assertThrows(IllegalStateException.class, () -> c.code(null));
+            assertThrows(IllegalStateException.class, Mimic.newInstance(Coded.class, Map.of())::validate);
+        };
+        Mimic.DynamicProxy.enable();
+        validate.run();
+        Mimic.ByteASM.enable();
+        validate.run();
+    }
+
+    @Test
+    void converted() {
+        final Runnable validate = () -> {
+            var i = Mimic.newInstance(Fluent.class, Map.of("idOfUser", "1000"));
+            var v = i.idOfUser();
+            assertEquals(1000L, v);
+            assertSame(v, i.idOfUser());
+            //reset and merge drop the converted values
+            var factory = Mimic.factory(Fluent.class);
+            factory.reset(i, Map.of("idOfUser", "1000"));
+            assertEquals(v, i.idOfUser());
+            assertNotSame(v, i.idOfUser());
+            v = i.idOfUser();
+            factory.merge(i, factory.create(Map.of("idOfUser", "1000")), false);
+            assertEquals(v, i.idOfUser());
+            assertNotSame(v, i.idOfUser());
+            i.idOfUser(2000L);
+            assertEquals("2000", i.underlyingMap().get("idOfUser"));
+            assertEquals(2000L, i.idOfUser());
+            i.underlyingMap().put("idOfUser", "3000");
+            assertEquals(3000L, i.idOfUser());
+            i.idOfUser(null);
+            assertNull(i.idOfUser());
+        };
+        Mimic.DynamicProxy.enable();
+        validate.run();
+        Mimic.ByteASM.enable();
+        validate.run();
+    }
+
+    @Test
+    void warmUp() {
+        Mimic.ByteASM.enable();
+        Mimic.Dao.ByteASM.enable();
+        var r = Mimic.warmUp(Arrays.asList(Fluent.class, Flue.class, FluentDao.class));
+        System.out.println(r);
+        assertEquals(Arrays.asList(Fluent.class, Flue.class, FluentDao.class), seq(r.keySet()).toList());
+        assertTrue(Mimic.warmUp("cn.zenliu.java.mimic").containsKey(FlueDao.class));
+    }
+
+    @Test
+    void immutable() {
+        final Runnable validate = () -> {
+            var i = Mimic.newInstance(Frozen.class, Map.of("id", 1L, "name", "a"));
+            assertEquals(1L, i.id());
+            var j = i.id(2L);
+            assertNotSame(i, j);
+            assertEquals(1L, i.id());
+            assertEquals(2L, j.id());
+            assertEquals("a", j.name());
+            assertThrows(IllegalStateException.class, () -> i.name(null));
+            assertEquals(i, j.id(1L));
+            assertEquals(i.hashCode(), j.id(1L).hashCode());
+            assertTrue(i.underlyingChangedProperties().isEmpty());
+            assertThrows(UnsupportedOperationException.class, () -> i.underlyingMap().put("id", 3L));
+            assertEquals(0L, Mimic.newInstance(Frozen.class, null).id());
+            System.out.println(j);
+        };
+        Mimic.DynamicProxy.enable();
+        validate.run();
+        Mimic.ByteASM.enable();
+        validate.run();
+    }
+
+    @Test
+    void nested() {
+        final Runnable validate = () -> {
+            var o = Mimic.newInstance(Order.class, Map.of(
+                "items", Arrays.asList(Map.of("id", 1L), Map.of("id", 2L)),
+                "main", Map.of("id", 3L)));
+            assertEquals(2, o.items().size());
+            assertEquals(2L, o.items().get(1).id());
+            assertSame(o.items().get(0), o.items().get(0));
+            assertSame(o.main(), o.main());
+            assertEquals(3L, o.main().id());
+            o.items().get(0).id(5L);
+            assertEquals(5L, o.items().get(0).id());
+            o.main(Mimic.newInstance(Item.class, Map.of("id", 4L)));
+            assertEquals(4L, o.main().id());
+            o.items(Arrays.asList(Mimic.newInstance(Item.class, Map.of("id", 6L))));
+            assertEquals(1, o.items().size());
+            assertEquals(6L, o.items().get(0).id());
+            System.out.println(o);
+        };
+        Mimic.DynamicProxy.enable();
+        validate.run();
+        Mimic.ByteASM.enable();
+        validate.run();
+    }
+
+    @Test
+    void table() {
+        var t = Mimic.MimicTable.of(Fluent.class, 2);
+        for (long i = 0; i < 5; i++) t.add(Map.of("id", i, "identity", i * 2));
+        assertEquals(5, t.size());
+        assertEquals(10L, t.longs("id").sum());
+        assertEquals(3L, t.get(3).id());
+        assertEquals(6L, t.get(3).identity());
+        t.get(1).id(7L);
+        assertEquals(7L, t.get(1).id());
+        assertArrayEquals(new int[]{1, 4}, t.filterLong("id", x -> x > 3).toArray());
+        var c = t.cursor();
+        var sum = 0L;
+        while (c.next()) sum += c.get().identity();
+        assertEquals(20L, sum);
+        assertEquals(5, t.add(Map.of("idOfUser", "12")));
+        assertEquals(12L, t.get(5).idOfUser());
+        assertEquals("12", t.get(5).underlyingMap().get("idOfUser"));
+        assertEquals(t.get(5), t.get(5));
+        System.out.println(t.get(5));
+        //invalid row is not appended
+        var k = Mimic.MimicTable.of(Kinds.class, 2);
+        assertThrows(IllegalStateException.class, () -> k.add(Map.of("count", -1)));
+        assertEquals(0, k.size());
+        assertEquals(0, k.add(Map.of("count", 1)));
+        t.clear();
+        assertEquals(0, t.size());
+        assertEquals(0L, t.longs("id").sum());
+        //view is another generated class of the interface, not a regeneration of the implement
+        Mimic.ByteASM.enable();
+        assertEquals(1L, Mimic.newInstance(Account.class, Map.of("id", 1L)).id());
+        var regenerated = Mimic.Metrics.regenerated();
+        var a = Mimic.MimicTable.of(Account.class, 2);
+        a.add(Map.of("id", 2L));
+        assertEquals(2L, a.get(0).id());
+        assertEquals(regenerated, Mimic.Metrics.regenerated());
+    }
+
+    @Test
+    void codec() {
+        final Runnable validate = () -> {
+            var codec = Mimic.Codec.of(Flue.class);
+            var i = Mimic.newInstance(Flue.class, Map.of("id", 1L, "identity", "2", "user", new BigDecimal("12.5")));
+            var j = codec.decode(codec.encode(i));
+            assertEquals(1L, j.id());
+            assertEquals(2L, j.identity());
+            assertNull(j.idOfUser());
+            assertEquals(new BigDecimal("12.5"), j.user());
+            assertTrue(j.underlyingChangedProperties().isEmpty());
+            var orders = Mimic.Codec.of(Order.class);
+            var o = orders.decode(orders.encode(Mimic.newInstance(Order.class, Map.of(
+                "items", Arrays.asList(Map.of("id", 1L), Map.of("id", 2L)),
+                "main", Map.of("id", 3L)))));
+            assertEquals(2, o.items().size());
+            assertEquals(2L, o.items().get(1).id());
+            assertEquals(3L, o.main().id());
+            var frozen = Mimic.Codec.of(Frozen.class);
+            var f = Mimic.newInstance(Frozen.class, Map.of("id", 1L, "name", "a"));
+            assertEquals(f, frozen.decode(frozen.encode(f)));
+            var bytes = codec.encode(i);
+            bytes[0]++;
+            assertThrows(IllegalStateException.class, () -> codec.decode(bytes));
+        };
+        Mimic.DynamicProxy.enable();
+        validate.run();
+        Mimic.ByteASM.enable();
+        validate.run();
+    }
+
+    @Test
+    void json() {
+        final Runnable validate = () -> {
+            var i = Mimic.newInstance(Flue.class, Map.of("id", 1L, "identity", "2", "user", new BigDecimal("12.5")));
+            var w = Mimic.JsonWriter.of(Flue.class);
+            assertEquals("{\"id\":1,\"identity\":\"2\",\"user\":12.5}", w.toJson(i));
+            assertEquals("{\"id\":1,\"identity\":\"2\"}", w.excluding("user").toJson(i));
+            assertEquals("{\"id\":1}", w.excluding("user").including("id", "user").toJson(i));
+            var o = Mimic.newInstance(Order.class, Map.of(
+                "items", Arrays.asList(Map.of("id", 1L), Map.of("id", 2L)),
+                "main", Map.of("id", 3L)));
+            assertEquals("{\"items\":[{\"id\":1},{\"id\":2}],\"main\":{\"id\":3}}", Mimic.JsonWriter.of(Order.class).toJson(o));
+            assertEquals("[{\"id\":3},null]", Mimic.JsonWriter.of(Item.class).toJsonArray(Arrays.asList(o.main(), null)));
+            var f = Mimic.newInstance(Frozen.class, Map.of("id", 1L, "name", "a\"b\n"));
+            assertEquals("{\"id\":1,\"name\":\"a\\\"b\\n\"}", Mimic.JsonWriter.of(Frozen.class).toJson(f));
+            assertThrows(IllegalArgumentException.class, () -> w.excluding("absent"));
+        };
+        Mimic.DynamicProxy.enable();
+        validate.run();
+        Mimic.ByteASM.enable();
+        validate.run();
+    }
+
+    @Test
+    void jsonReader() {
+        final Runnable validate = () -> {
+            var r = Mimic.JsonReader.of(Flue.class);
+            var w = Mimic.JsonWriter.of(Flue.class);
+            var i = r.read("{\"id\":1,\"identity\":\"2\",\"user\":12.5,\"unknown\":{\"a\":[1,null]}}");
+            assertEquals(1L, i.id());
+            assertEquals(2L, i.identity());
+            assertEquals(new BigDecimal("12.5"), i.user());
+            assertNull(i.idOfUser());
+            assertEquals(w.toJson(i), w.toJson(r.read(w.toJson(i))));
+            var o = Mimic.JsonReader.of(Order.class).read("{\"items\":[{\"id\":1},{\"id\":2}],\"main\":{\"id\":3}}");
+            assertEquals(2, o.items().size());
+            assertEquals(2L, o.items().get(1).id());
+            assertEquals(3L, o.main().id());
+            var all = Mimic.JsonReader.of(Item.class).readAll(" [{\"id\":3}, null] ");
+            assertEquals(3L, all.get(0).id());
+            assertNull(all.get(1));
+            var f = Mimic.JsonReader.of(Frozen.class).read("{\"id\":1,\"name\":\"a\\\"b\\n\\u0041\"}");
+            assertEquals("a\"b\nA", f.name());
+            assertThrows(IllegalStateException.class, () -> Mimic.JsonReader.of(Frozen.class).read("{\"id\":1,\"name\":null}"));
+            assertThrows(IllegalArgumentException.class, () -> r.read("{\"id\":\"x\"}"));
+            assertThrows(IllegalArgumentException.class, () -> r.read("{\"id\":1} 1"));
+            assertThrows(IllegalArgumentException.class, () -> r.read("{\"id\":1.5}"));
+            var st = Mimic.JsonReader.of(Stamp.class);
+            var t = st.read("{\"count\":2147483647,\"at\":\"2023-09-19T00:00:00Z\"}");
+            assertEquals(Integer.MAX_VALUE, t.count());
+            assertEquals(Instant.parse("2023-09-19T00:00:00Z"), t.at());
+            assertEquals(Instant.ofEpochMilli(5), st.read("{\"at\":5}").at());
+            var e = assertThrows(IllegalArgumentException.class, () -> st.read("{\"count\":2147483648}"));
+            assertTrue(e.getMessage().contains("'count'"), e.getMessage());
+            e = assertThrows(IllegalArgumentException.class, () -> st.read("{\"at\":\"yesterday\"}"));
+            assertTrue(e.getMessage().contains("'at'"), e.getMessage());
+        };
+        Mimic.DynamicProxy.enable();
+        validate.run();
+        Mimic.ByteASM.enable();
+        validate.run();
+    }
+
+    static final List<String> name1 = Stream.of("identity", "id", "id_of_user").sorted().collect(Collectors.toList());
+    static final List<String> name2 = Stream.of("identity", "id", "id_of_user", "user").sorted().collect(Collectors.toList());
+    static final List<String> property1 = Stream.of("identity", "id", "idOfUser").sorted().collect(Collectors.toList());
+    static final List<String> property2 = Stream.of("identity", "id", "idOfUser", "user").sorted().collect(Collectors.toList());
+
+    @Test
+    void testDao() {
+        final Consumer<FluentDao> fluentValidate = dao -> {
+            System.out.println(dao);
+            System.out.println(dao.allFields());
+            System.out.println(dao.DDL());
+            val id = System.currentTimeMillis();
+            val i = dao.instance(null);
+            i.id(id);
+            i.identity(12L);
+            i.idOfUser(24L);
+            assertEquals(property1, seq(i.underlyingChangedProperties()).sorted().toList());
+            dao.inertInto(i);
+            //default methods called again reuse the invoker
+            assertEquals(1, dao.countById(id));
+            assertEquals(0, dao.countById(id + 1));
+            val i2 = dao.fetchById(id);
+            System.out.println(i2);
+            i2.identity(8L);
+            assertEquals("identity", seq(i2.underlyingChangedProperties()).sorted().toString(""));
+            System.out.println(dao.updateWith(i2, dao.id().eq(id)));
+            var r = dao.fetchById(id);
+            assertEquals(id, r.id());
+            assertEquals(8L, r.identity());
+            assertEquals(24L, r.idOfUser());
+            r = dao.stream(s -> s.where(dao.id().eq(id)).orderBy(dao.identity()).limit(1))
+                .findFirst().orElseThrow(IllegalStateException::new);
+            assertEquals(id, r.id());
+            assertEquals(8L, r.identity());
+            assertEquals(24L, r.idOfUser());
+        };
+        final Consumer<FlueDao> flueValidate = dao -> {
+            System.out.println(dao);
+            System.out.println(dao.allFields());
+            System.out.println(dao.DDL());
+            val id = System.currentTimeMillis();
+            val i = dao.instance(null);
+            i.id(id);
+            i.identity(12L);
+            i.idOfUser(24L);
+            i.user(BigDecimal.TEN);
+            assertEquals(property2, seq(i.underlyingChangedProperties()).sorted().toList());
+            dao.inertInto(i);
+            val i2 = dao.fetchById(id);
+            System.out.println(i2);
+            i2.identity(8L);
+            assertEquals("identity", seq(i2.underlyingChangedProperties()).sorted().toString(""));
+            System.out.println(dao.updateWith(i2, dao.id().eq(id)));
+            var r = dao.fetchById(id);
+            assertEquals(id, r.id());
+            assertEquals(8L, r.identity());
+            assertEquals(24L, r.idOfUser());
+            assertEquals(BigDecimal.TEN, r.user());
+            r = dao.stream(s -> s.where(dao.id().eq(id)).orderBy(dao.identity()).limit(1))
+                .findFirst().orElseThrow(IllegalStateException::new);
+            assertEquals(id, r.id());
+            assertEquals(8L, r.identity());
+            assertEquals(24L, r.idOfUser());
+            assertEquals(BigDecimal.TEN, r.user());
+        };
+        Mimic.DynamicProxy.enable();
+        Mimic.Dao.DynamicProxy.enable();
+        var fluent = fluentDao.get();
+        var flue = flueDao.get();
+        assertEquals(name1, seq(fluent.allFields()).map(Field::getName).sorted().toList());
+        assertEquals(name2, seq(flue.allFields()).map(Field::getName).sorted().toList());
+        assertEquals(cfg, fluent.configuration());
+        assertEquals(cfg, flue.configuration());
+        fluentValidate.accept(fluent);
+        flueValidate.accept(flue);
+
+        flue.ctx().dropTable(flue.table()).execute();
+        flue.ctx().dropTable(fluent.table()).execute();
+
+        Mimic.ByteASM.enable();
+        Mimic.Dao.ByteASM.enable();
+         fluent = fluentDao.get();
+         flue = flueDao.get();
+
+        assertEquals(name1, seq(fluent.allFields()).map(Field::getName).sorted().toList());
+        assertEquals(name2, seq(flue.allFields()).map(Field::getName).sorted().toList());
+        assertEquals(cfg, fluent.configuration());
+        assertEquals(cfg, flue.configuration());
+        fluentValidate.accept(fluent);
+        flueValidate.accept(flue);
+
+    }
+
+
+
+}
\ No newline at end of file
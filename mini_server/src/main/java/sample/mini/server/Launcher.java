@@ -7,11 +7,7 @@ import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import org.jooq.SQLDialect;
 import org.jooq.impl.DefaultConfiguration;
-import org.jooq.lambda.Seq;
-import org.jooq.tools.json.JSONArray;
 import org.jooq.tools.json.JSONObject;
-import org.jooq.tools.json.JSONParser;
-import org.jooq.tools.json.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
@@ -22,9 +18,7 @@ import sample.mini.server.entity.Blog;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Map;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * @author Zen.Liu
@@ -52,7 +46,7 @@ public class Launcher {
             .header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
             .sendByteArray(
                 bytesWithError(() ->
-                    JSONArray.toJSONString(Seq.seq(dao.list()).map(Blog::summaryMap).collect(Collectors.toList())).getBytes(StandardCharsets.UTF_8)
+                    Blog.SUMMARY_JSON.toJsonArray(dao.list()).getBytes(StandardCharsets.UTF_8)
                 )
             )
             .then();
@@ -78,15 +72,8 @@ public class Launcher {
         return req.receive().aggregate().asString().flatMap(x ->
             res.header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
                 .sendByteArray(bytesWithError(() -> {
-                    try {
-                        Object out = new JSONParser().parse(x);
-                        if (!(out instanceof Map)) throw new IllegalStateException("invalid request");
-                        //noinspection unchecked
-                        dao.write(Mimic.newInstance(Blog.class, (Map<String, Object>) out));
-                        return new byte[0];
-                    } catch (ParseException e) {
-                        throw new IllegalStateException(e);
-                    }
+                    dao.write(Mimic.JsonReader.of(Blog.class).read(x));
+                    return new byte[0];
                 })).then()
         );
     }
@@ -4,7 +4,6 @@ import cn.zenliu.java.mimic.Mimic;
 import org.jooq.DataType;
 import org.jooq.Field;
 import org.jooq.impl.SQLDataType;
-import org.jooq.tools.json.JSONObject;
 
 import java.time.Instant;
 import java.util.*;
@@ -35,16 +34,17 @@ public interface Blog extends BlogSummary, Mimic {
 
     Blog removed(boolean val);
 
-    default String outputJson() {
-        final HashMap<String, Object> map = new HashMap<>(underlyingMap());
-        return JSONObject.toJSONString(map);
-    }
+    /**
+     * writer of full json.
+     */
+    Mimic.JsonWriter<Blog> JSON = Mimic.JsonWriter.of(Blog.class);
+    /**
+     * writer of summary json, without content and removed flag.
+     */
+    Mimic.JsonWriter<Blog> SUMMARY_JSON = JSON.excluding("removed", "content");
 
-    default Map<String, Object> summaryMap() {
-        final HashMap<String, Object> map = new HashMap<>(underlyingMap());
-        map.remove("removed");
-        map.remove("content");
-        return map;
+    default String outputJson() {
+        return JSON.toJson(this);
     }
 
 
@@ -0,0 +1,387 @@
+package cn.zenliu.java.mimic.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.SimpleTypeVisitor14;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Annotation processor generates implements for interfaces annotated with {@code Mimic.Precompile}.
+ * <p>For a Mimic, it generates {@code <BinaryName>$Mimic} which extends {@code mimics.AsmFactory.Base},
+ * this is the same structure as the ByteBuddy generated one.
+ * <p>For a Dao, it generates {@code <BinaryName>$Dao} which extends {@code daos.AsmFactory.Factory.Base}.
+ * <p>Generated implements are used by {@code Mimic.Precompiled} and {@code Mimic.Dao.Precompiled} mode.
+ *
+ * @author Zen.Liu
+ * @since 2026-10-17
+ */
+@SupportedAnnotationTypes(MimicProcessor.PRECOMPILE)
+public class MimicProcessor extends AbstractProcessor {
+    static final String MIMIC = "cn.zenliu.java.mimic.Mimic";
+    static final String DAO = MIMIC + ".Dao";
+    static final String PRECOMPILE = MIMIC + ".Precompile";
+    static final String JAVA_BEAN = MIMIC + ".JavaBean";
+    static final String CONCURRENT = MIMIC + ".Concurrent";
+    static final String IMMUTABLE = MIMIC + ".Immutable";
+    static final String MIMIC_BASE = "cn.zenliu.java.mimic.mimics.AsmFactory.Base";
+    static final String DAO_FACTORY = "cn.zenliu.java.mimic.daos.AsmFactory.Factory";
+    static final String MIMIC_SUFFIX = "$Mimic";
+    static final String DAO_SUFFIX = "$Dao";
+    static final List<String> mimicMethods = Arrays.asList("underlyingMap", "underlyingChangedProperties");
+    static final List<String> daoMethods = Arrays.asList("table",
+        "ctx",
+        "instance",
+        "toDatabase",
+        "toEntity",
+        "configuration",
+        "allFields"
+    );
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+        var mimic = processingEnv.getElementUtils().getTypeElement(MIMIC);
+        var dao = processingEnv.getElementUtils().getTypeElement(DAO);
+        if (mimic == null) return false;
+        var types = processingEnv.getTypeUtils();
+        for (TypeElement annotation : annotations) {
+            for (Element e : env.getElementsAnnotatedWith(annotation)) {
+                if (e.getKind() != ElementKind.INTERFACE) {
+                    error(e, "@Precompile only supports interface");
+                    continue;
+                }
+                var type = (TypeElement) e;
+                try {
+                    if (dao != null && types.isSubtype(types.erasure(type.asType()), types.erasure(dao.asType()))) {
+                        generateDao(type, dao);
+                    } else if (types.isSubtype(type.asType(), mimic.asType())) {
+                        generateMimic(type);
+                    } else {
+                        error(e, "@Precompile only supports Mimic or Mimic.Dao");
+                    }
+                } catch (IllegalStateException ex) {
+                    error(e, ex.getMessage());
+                } catch (IOException ex) {
+                    error(e, "fail to write implement: " + ex.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    //region Mimic
+    static final class Property {
+        final String name;
+        String type;
+        ExecutableElement getter;
+        ExecutableElement setter;
+
+        Property(String name) {
+            this.name = name;
+        }
+    }
+
+    void generateMimic(TypeElement type) throws IOException {
+        if (annotated(type, IMMUTABLE)) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "immutable Mimic is never precompiled", type);
+            return;
+        }
+        var strategy = strategy(type);
+        var properties = new LinkedHashMap<String, Property>();
+        for (ExecutableElement m : abstractMethods(type)) {
+            var name = m.getSimpleName().toString();
+            if (m.getParameters().isEmpty() && mimicMethods.contains(name)) continue;
+            if (isGetter(m, strategy)) {
+                var p = properties.computeIfAbsent(getterName(m, strategy), Property::new);
+                p.getter = m;
+                p.type = typeName(m.getReturnType());
+            } else if (isSetter(m, strategy)) {
+                var p = properties.computeIfAbsent(setterName(m, strategy), Property::new);
+                p.setter = m;
+                if (p.type == null) p.type = typeName(m.getParameters().get(0).asType());
+            } else {
+                throw new IllegalStateException("can not process method '" + m + "' as getter or setter");
+            }
+        }
+        //slot is the index of property in name order, same as runtime
+        var slots = new ArrayList<>(new TreeSet<>(properties.keySet()));
+        var face = type.getQualifiedName().toString();
+        var name = simpleName(type, MIMIC_SUFFIX);
+        try (var w = writer(type, name)) {
+            w.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            w.println("public final class " + name + " extends " + MIMIC_BASE + " implements " + face + " {");
+            w.println("    public static final String[] PROPERTIES = " + slots.stream()
+                .map(x -> "\"" + x + "\"")
+                .collect(Collectors.joining(", ", "{", "}")) + ";");
+            w.println();
+            //lock free mode uses volatile fields, same as runtime
+            var modifier = concurrent(type) == 2 ? "private volatile " : "private ";
+            for (Property p : properties.values()) {
+                w.println("    " + modifier + p.type + " " + p.name + ";");
+            }
+            w.println();
+            w.println("    public " + name + "(cn.zenliu.java.mimic.mimics.PropertiesInfo info,");
+            w.println("                " + "cn.zenliu.java.mimic.mimics.AsmFactory.FunctorInfo functor,");
+            w.println("                " + "String name,");
+            w.println("                " + "int concurrentMode,");
+            w.println("                " + "cn.zenliu.java.mimic.mimics.Validator validator) {");
+            w.println("        super(info, functor, name, concurrentMode, validator);");
+            w.println("    }");
+            for (Property p : properties.values()) {
+                if (p.getter != null) {
+                    w.println();
+                    w.println("    @Override");
+                    w.println("    public " + typeName(p.getter.getReturnType()) + " " + p.getter.getSimpleName() + "() {");
+                    w.println("        return this." + p.name + ";");
+                    w.println("    }");
+                }
+                if (p.setter != null) {
+                    var ret = p.setter.getReturnType();
+                    var self = ret.getKind() != TypeKind.VOID;
+                    w.println();
+                    w.println("    @Override");
+                    w.println("    public " + (self ? typeName(processingEnv.getTypeUtils().erasure(ret)) : "void") + " " + p.setter.getSimpleName()
+                              + "(" + typeName(p.setter.getParameters().get(0).asType()) + " value) {");
+                    w.println("        set(" + slots.indexOf(p.name) + ", value);");
+                    w.println("        this." + p.name + " = value;");
+                    if (self) w.println("        return this;");
+                    w.println("    }");
+                }
+            }
+            w.println();
+            w.println("    @Override");
+            w.println("    public void validate() throws IllegalStateException {");
+            w.println("        super.validate();");
+            if (overrideValidate(type)) w.println("        " + face + ".super.validate();");
+            w.println("    }");
+            w.println();
+            w.println("    @Override");
+            w.println("    protected Object self() {");
+            w.println("        return this;");
+            w.println("    }");
+            w.println("}");
+        }
+    }
+
+    //validate is overridden by a default method other than the one on Mimic
+    boolean overrideValidate(TypeElement type) {
+        for (Element e : processingEnv.getElementUtils().getAllMembers(type)) {
+            if (e.getKind() != ElementKind.METHOD || !e.getSimpleName().contentEquals("validate")) continue;
+            var m = (ExecutableElement) e;
+            if (m.isDefault() && m.getParameters().isEmpty()
+                && !((TypeElement) m.getEnclosingElement()).getQualifiedName().contentEquals(MIMIC))
+                return true;
+        }
+        return false;
+    }
+
+    //0 fluent, 1 java bean, 2 mix
+    int strategy(TypeElement type) {
+        for (AnnotationMirror an : type.getAnnotationMirrors()) {
+            if (!((TypeElement) an.getAnnotationType().asElement()).getQualifiedName().contentEquals(JAVA_BEAN))
+                continue;
+            for (var v : an.getElementValues().entrySet()) {
+                if (v.getKey().getSimpleName().contentEquals("value") && Boolean.TRUE.equals(v.getValue().getValue()))
+                    return 2;
+            }
+            return 1;
+        }
+        return 0;
+    }
+
+    boolean annotated(TypeElement type, String annotation) {
+        for (AnnotationMirror an : type.getAnnotationMirrors()) {
+            if (((TypeElement) an.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation))
+                return true;
+        }
+        return false;
+    }
+
+    //0 no concurrent, 1 use sync, 2 lock free
+    int concurrent(TypeElement type) {
+        for (AnnotationMirror an : type.getAnnotationMirrors()) {
+            if (!((TypeElement) an.getAnnotationType().asElement()).getQualifiedName().contentEquals(CONCURRENT))
+                continue;
+            for (var v : an.getElementValues().entrySet()) {
+                if (v.getKey().getSimpleName().contentEquals("value") && Boolean.TRUE.equals(v.getValue().getValue()))
+                    return 1;
+            }
+            return 2;
+        }
+        return 0;
+    }
+
+    boolean isGetter(ExecutableElement m, int strategy) {
+        if (!m.getParameters().isEmpty() || m.getReturnType().getKind() == TypeKind.VOID) return false;
+        var name = m.getSimpleName().toString();
+        var bean = name.startsWith("get") || (m.getReturnType().getKind() == TypeKind.BOOLEAN && name.startsWith("is"));
+        return strategy != 1 || bean;
+    }
+
+    //same as runtime: returns void, or the declaring interface or one of its super types
+    boolean isSetter(ExecutableElement m, int strategy) {
+        if (m.getParameters().size() != 1) return false;
+        var ret = m.getReturnType();
+        var types = processingEnv.getTypeUtils();
+        if (ret.getKind() != TypeKind.VOID && (ret.getKind() != TypeKind.DECLARED && ret.getKind() != TypeKind.TYPEVAR
+                                               || !types.isAssignable(types.erasure(m.getEnclosingElement().asType()), types.erasure(ret))))
+            return false;
+        return strategy != 1 || m.getSimpleName().toString().startsWith("set");
+    }
+
+    String getterName(ExecutableElement m, int strategy) {
+        var name = m.getSimpleName().toString();
+        if (strategy == 0) return name;
+        if (name.startsWith("is")) return pascalToCamel(name.substring(2));
+        if (name.startsWith("get")) return pascalToCamel(name.substring(3));
+        return name;
+    }
+
+    String setterName(ExecutableElement m, int strategy) {
+        var name = m.getSimpleName().toString();
+        if (strategy == 0) return name;
+        return name.startsWith("set") ? pascalToCamel(name.substring(3)) : name;
+    }
+
+    static String pascalToCamel(String str) {
+        return Character.toLowerCase(str.charAt(0)) + str.substring(1);
+    }
+    //endregion
+
+    //region Dao
+    void generateDao(TypeElement type, TypeElement dao) throws IOException {
+        var entity = entityOf(type, dao);
+        if (entity == null) throw new IllegalStateException("could not find entity type of " + type);
+        var face = type.getQualifiedName().toString();
+        var name = simpleName(type, DAO_SUFFIX);
+        try (var w = writer(type, name)) {
+            w.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            w.println("public final class " + name + " extends " + DAO_FACTORY + ".Base<" + entity + "> implements " + face + " {");
+            w.println("    public " + name + "(" + DAO_FACTORY + " factory, org.jooq.Configuration config) {");
+            w.println("        factory.super(config);");
+            w.println("    }");
+            for (ExecutableElement m : abstractMethods(type)) {
+                var method = m.getSimpleName().toString();
+                if (m.getEnclosingElement().equals(dao) || daoMethods.contains(method)) continue;
+                if (!m.getParameters().isEmpty())
+                    throw new IllegalStateException("can not process method '" + m + "' as field");
+                w.println();
+                w.println("    @Override");
+                w.println("    public " + typeName(m.getReturnType()) + " " + method + "() {");
+                w.println("        return (" + typeName(m.getReturnType()) + ") getField(\"" + method + "\");");
+                w.println("    }");
+            }
+            w.println("}");
+        }
+    }
+
+    String entityOf(TypeElement type, TypeElement dao) {
+        var types = processingEnv.getTypeUtils();
+        for (TypeMirror face : type.getInterfaces()) {
+            var element = (TypeElement) types.asElement(face);
+            if (element.equals(dao)) {
+                var args = ((DeclaredType) face).getTypeArguments();
+                return args.isEmpty() ? null : typeName(args.get(0));
+            }
+        }
+        return null;
+    }
+    //endregion
+
+    //region Tools
+    List<ExecutableElement> abstractMethods(TypeElement type) {
+        var types = processingEnv.getTypeUtils();
+        var methods = new LinkedHashMap<String, ExecutableElement>();
+        for (Element e : processingEnv.getElementUtils().getAllMembers(type)) {
+            if (e.getKind() != ElementKind.METHOD) continue;
+            var m = (ExecutableElement) e;
+            if (!m.getModifiers().contains(Modifier.ABSTRACT) || m.getModifiers().contains(Modifier.STATIC)) continue;
+            var key = m.getSimpleName() + m.getParameters().stream()
+                .map(x -> types.erasure(x.asType()).toString())
+                .collect(Collectors.joining(",", "(", ")"));
+            var exists = methods.get(key);
+            //keep the most specific return type
+            if (exists == null || types.isSubtype(m.getReturnType(), exists.getReturnType()))
+                methods.put(key, m);
+        }
+        return new ArrayList<>(methods.values());
+    }
+
+    String simpleName(TypeElement type, String suffix) {
+        var pkg = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        var binary = processingEnv.getElementUtils().getBinaryName(type).toString();
+        return (pkg.isEmpty() ? binary : binary.substring(pkg.length() + 1)) + suffix;
+    }
+
+    PrintWriter writer(TypeElement type, String name) throws IOException {
+        var pkg = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        var file = processingEnv.getFiler().createSourceFile(pkg.isEmpty() ? name : pkg + "." + name, type);
+        var w = new PrintWriter(file.openWriter());
+        if (!pkg.isEmpty()) {
+            w.println("package " + pkg + ";");
+            w.println();
+        }
+        w.println("@javax.annotation.processing.Generated(\"" + MimicProcessor.class.getName() + "\")");
+        return w;
+    }
+
+    void error(Element e, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, e);
+    }
+
+    /**
+     * render type as source without type annotations
+     */
+    String typeName(TypeMirror type) {
+        return type.accept(new SimpleTypeVisitor14<String, Void>() {
+            @Override
+            protected String defaultAction(TypeMirror t, Void unused) {
+                return t.toString();
+            }
+
+            @Override
+            public String visitPrimitive(PrimitiveType t, Void unused) {
+                return t.getKind().name().toLowerCase(Locale.ROOT);
+            }
+
+            @Override
+            public String visitArray(ArrayType t, Void unused) {
+                return t.getComponentType().accept(this, null) + "[]";
+            }
+
+            @Override
+            public String visitDeclared(DeclaredType t, Void unused) {
+                var name = ((TypeElement) t.asElement()).getQualifiedName().toString();
+                if (t.getTypeArguments().isEmpty()) return name;
+                return name + t.getTypeArguments().stream()
+                    .map(x -> x.accept(this, null))
+                    .collect(Collectors.joining(", ", "<", ">"));
+            }
+
+            @Override
+            public String visitTypeVariable(TypeVariable t, Void unused) {
+                return t.asElement().getSimpleName().toString();
+            }
+
+            @Override
+            public String visitWildcard(WildcardType t, Void unused) {
+                if (t.getExtendsBound() != null) return "? extends " + t.getExtendsBound().accept(this, null);
+                if (t.getSuperBound() != null) return "? super " + t.getSuperBound().accept(this, null);
+                return "?";
+            }
+        }, null);
+    }
+    //endregion
+}
@@ -0,0 +1,136 @@
+package cn.zenliu.java.mimic.processor;
+
+import cn.zenliu.java.mimic.Mimic;
+import org.jooq.Field;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MimicProcessorTest {
+    static final String NAMED = "package sample;\n" +
+                                "public interface Named extends cn.zenliu.java.mimic.Mimic {\n" +
+                                "    String name();\n" +
+                                "}\n";
+    static final String PERSON = "package sample;\n" +
+                                 "@cn.zenliu.java.mimic.Mimic.Precompile\n" +
+                                 "public interface Person extends Named {\n" +
+                                 "    long id();\n" +
+                                 "    void id(long val);\n" +
+                                 "    Named name(String val);\n" +
+                                 "    Integer age();\n" +
+                                 "    Person age(Integer val);\n" +
+                                 "}\n";
+    static final String BOOK = "package sample;\n" +
+                               "@cn.zenliu.java.mimic.Mimic.Dao.Entity\n" +
+                               "public interface Book extends cn.zenliu.java.mimic.Mimic {\n" +
+                               "    long id();\n" +
+                               "    Book id(long val);\n" +
+                               "    String title();\n" +
+                               "    Book title(String val);\n" +
+                               "}\n";
+    static final String BOOK_DAO = "package sample;\n" +
+                                   "@cn.zenliu.java.mimic.Mimic.Precompile\n" +
+                                   "public interface BookDao extends cn.zenliu.java.mimic.Mimic.Dao<Book> {\n" +
+                                   "    org.jooq.Field<Long> id();\n" +
+                                   "}\n";
+
+    //(sources,output,processor)=>compiled
+    static void compile(Path dir, Path out, boolean process, String... sources) throws Exception {
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var diagnostics = new DiagnosticCollector<JavaFileObject>();
+        try (var fm = compiler.getStandardFileManager(diagnostics, null, null)) {
+            var files = new ArrayList<Path>();
+            for (var s : sources) {
+                var name = s.substring(s.indexOf("interface ") + 10, s.indexOf(" extends"));
+                var file = dir.resolve("sample").resolve(name + ".java");
+                Files.createDirectories(file.getParent());
+                Files.writeString(file, s);
+                files.add(file);
+            }
+            Files.createDirectories(out);
+            var options = new ArrayList<>(Arrays.asList("-classpath", System.getProperty("java.class.path"), "-d", out.toString()));
+            if (!process) options.add("-proc:none");
+            var task = compiler.getTask(null, fm, diagnostics, options, null, fm.getJavaFileObjectsFromPaths(files));
+            if (process) task.setProcessors(Collections.singletonList(new MimicProcessor()));
+            assertTrue(task.call(), diagnostics.getDiagnostics().toString());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static Class<Mimic> load(Path out, String name) throws Exception {
+        var loader = new URLClassLoader(new URL[]{out.toUri().toURL()}, MimicProcessorTest.class.getClassLoader());
+        return (Class<Mimic>) loader.loadClass(name);
+    }
+
+    @Test
+    void precompiled(@TempDir Path dir) throws Exception {
+        var out = dir.resolve("classes");
+        compile(dir.resolve("src"), out, true, NAMED, PERSON);
+        assertTrue(Files.isRegularFile(out.resolve("sample/Person$Mimic.class")));
+        var type = load(out, "sample.Person");
+        Mimic.Precompiled.enable();
+        var factory = Mimic.factory(type);
+        assertEquals(List.of("age", "id", "name"), factory.properties());
+        var i = factory.create(Map.of("id", 1L, "name", "a"));
+        assertEquals("sample.Person$Mimic", i.getClass().getName());
+        assertEquals(1L, type.getMethod("id").invoke(i));
+        //setter returns a super type
+        assertSame(i, type.getMethod("name", String.class).invoke(i, "b"));
+        assertSame(i, type.getMethod("age", Integer.class).invoke(i, 3));
+        assertEquals(Map.of("id", 1L, "name", "b", "age", 3), i.underlyingMap());
+        assertEquals(List.of("age", "name"), new ArrayList<>(i.underlyingChangedProperties()));
+    }
+
+    @Test
+    void outdated(@TempDir Path dir) throws Exception {
+        var out = dir.resolve("classes");
+        compile(dir.resolve("src"), out, true, NAMED, PERSON);
+        //the interface changed without processing, the generated implement is kept
+        var changed = PERSON.replace("    Integer age();\n    Person age(Integer val);\n", "");
+        compile(dir.resolve("changed"), out, false, NAMED, changed);
+        assertTrue(Files.isRegularFile(out.resolve("sample/Person$Mimic.class")));
+        var type = load(out, "sample.Person");
+        Mimic.Precompiled.enable();
+        var factory = Mimic.factory(type);
+        assertEquals(List.of("id", "name"), factory.properties());
+        var i = factory.create(Map.of("id", 1L, "name", "a"));
+        assertNotEquals("sample.Person$Mimic", i.getClass().getName());
+        assertEquals(Map.of("id", 1L, "name", "a"), i.underlyingMap());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Test
+    void outdatedDao(@TempDir Path dir) throws Exception {
+        var out = dir.resolve("classes");
+        compile(dir.resolve("src"), out, true, BOOK, BOOK_DAO);
+        //a field method added without processing, the generated implement lacks it
+        var changed = BOOK_DAO.replace("    org.jooq.Field<Long> id();\n", "    org.jooq.Field<Long> id();\n    org.jooq.Field<String> title();\n");
+        compile(dir.resolve("changed"), out, false, BOOK, changed);
+        assertTrue(Files.isRegularFile(out.resolve("sample/BookDao$Dao.class")));
+        var loader = new URLClassLoader(new URL[]{out.toUri().toURL()}, MimicProcessorTest.class.getClassLoader());
+        var entity = (Class) loader.loadClass("sample.Book");
+        var type = (Class) loader.loadClass("sample.BookDao");
+        Mimic.ByteASM.enable();
+        Mimic.Dao.Precompiled.enable();
+        var dao = (Mimic.Dao) Mimic.Dao.newInstance(entity, type, new DefaultConfiguration().set(new MockConnection(ctx -> new MockResult[0])));
+        assertNotEquals("sample.BookDao$Dao", dao.getClass().getName());
+        assertEquals("title", ((Field) type.getMethod("title").invoke(dao)).getName());
+    }
+}